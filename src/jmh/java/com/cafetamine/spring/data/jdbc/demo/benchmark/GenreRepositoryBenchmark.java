@@ -0,0 +1,33 @@
+package com.cafetamine.spring.data.jdbc.demo.benchmark;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GenreRepositoryBenchmark {
+
+    @Benchmark
+    public Genre create_Existing(final RepositoryState state) {
+        return state.genreRepository.create(new Genre(null, state.catalog.genre(state.randomGenreId()).getName()));
+    }
+
+    @Benchmark
+    public Genre create_New(final RepositoryState state) {
+        return state.genreRepository.create(new Genre(null, "bench-" + state.sequence.incrementAndGet()));
+    }
+
+}
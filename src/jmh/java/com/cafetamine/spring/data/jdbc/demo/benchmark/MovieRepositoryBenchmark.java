@@ -0,0 +1,84 @@
+package com.cafetamine.spring.data.jdbc.demo.benchmark;
+
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.FetchMode;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MovieRepositoryBenchmark {
+
+    @Benchmark
+    public List<Movie> findAll(final RepositoryState state) {
+        return state.movieRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Movie> findAll_JoinFetch(final RepositoryState state) {
+        return state.movieLoader.findAll();
+    }
+
+    @Benchmark
+    public Optional<Movie> findById(final RepositoryState state) {
+        return state.movieRepository.findById(state.randomMovieId());
+    }
+
+    @Benchmark
+    public Optional<Movie> findById_JoinFetch(final RepositoryState state) {
+        return state.movieLoader.findById(state.randomMovieId());
+    }
+
+    @Benchmark
+    public Optional<Movie> findById_ReadModel(final RepositoryState state) {
+        return state.movieRepository.findById(state.randomMovieId(), FetchMode.READ_MODEL);
+    }
+
+    @Benchmark
+    public List<Movie> findAllByGenre(final RepositoryState state) {
+        return state.movieRepository.findAllByGenre(state.catalog.genre(state.randomGenreId()));
+    }
+
+    @Benchmark
+    public Movie create(final RepositoryState state) {
+        final long sequence = state.sequence.incrementAndGet();
+        final Actor newcomer = new Actor(null, "Newcomer", "No. " + sequence, LocalDate.of(2000, 1, 1), null, Gender.Other);
+        return state.movieRepository.create(new Movie(
+                null,
+                "Benchmark movie " + sequence,
+                Duration.ofMinutes(95),
+                LocalDate.of(2020, 1, 1),
+                Map.of(
+                        "Lead", state.catalog.actor(state.randomActorId()).withId(null),
+                        "Support", state.catalog.actor(state.randomActorId()).withId(null),
+                        "Debut", newcomer
+                ),
+                Arrays.asList(
+                        new Genre(null, state.catalog.genre(1).getName()),
+                        new Genre(null, state.catalog.genre(2).getName())
+                )
+        ));
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.cafetamine.spring.data.jdbc.demo.benchmark;
+
+import com.cafetamine.spring.data.jdbc.demo.SpringDataJdbcDemoApplication;
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.genre.IGenreRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.generator.CatalogGenerator;
+import com.cafetamine.spring.data.jdbc.demo.generator.JdbcCatalogSink;
+import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieJoinFetchLoader;
+import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieReadModel;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Boots the application against a private in-memory H2 database, created from {@code schema.sql}, and seeds it
+ * with a {@link CatalogGenerator} catalog of {@link #movies} movies once per trial.
+ */
+@State(Scope.Benchmark)
+public class RepositoryState {
+
+    @Param({"1000", "100000", "1000000"})
+    public int movies;
+
+    ConfigurableApplicationContext context;
+    CatalogGenerator catalog;
+    IMovieRepository movieRepository;
+    MovieJoinFetchLoader movieLoader;
+    IActorRepository actorRepository;
+    IGenreRepository genreRepository;
+    final SplittableRandom random = new SplittableRandom(42L);
+    final AtomicLong sequence = new AtomicLong();
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringDataJdbcDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "--logging.level.org.springframework.jdbc.core=WARN"
+                );
+        catalog = new CatalogGenerator(movies);
+        final JdbcCatalogSink sink = new JdbcCatalogSink(
+                context.getBean(JdbcTemplate.class),
+                context.getBean(RepositoryProperties.class).getBatch().getSize()
+        );
+        sink.clear();
+        catalog.generate(sink);
+        context.getBean(MovieReadModel.class).backfill();
+        movieRepository = context.getBean(IMovieRepository.class);
+        movieLoader = context.getBean(MovieJoinFetchLoader.class);
+        actorRepository = context.getBean(IActorRepository.class);
+        genreRepository = context.getBean(IGenreRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    long randomMovieId() {
+        return 1 + random.nextLong(catalog.getMovies());
+    }
+
+    long randomActorId() {
+        return 1 + random.nextLong(catalog.getActors());
+    }
+
+    int randomGenreId() {
+        return 1 + random.nextInt(catalog.getGenres());
+    }
+
+}
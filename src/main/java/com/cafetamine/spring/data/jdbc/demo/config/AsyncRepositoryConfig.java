@@ -0,0 +1,54 @@
+package com.cafetamine.spring.data.jdbc.demo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Executor behind the asynchronous repositories. Platform threads come from a fixed pool of
+ * {@code repository.async.parallelism} threads with a bounded queue. A task submitted while the queue is full runs on
+ * the submitting thread, which takes its own connection, so pool threads hold at most {@code parallelism}
+ * connections but every caller that overflows the queue may hold one more. Virtual threads (JDK 21+) are started per
+ * task and throttled by a semaphore to {@code parallelism} running tasks.
+ */
+@Configuration
+public class AsyncRepositoryConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService repositoryExecutorService(final RepositoryProperties properties) {
+        final RepositoryProperties.Async async = properties.getAsync();
+        return async.getThreads() == RepositoryProperties.Async.Threads.VIRTUAL
+                ? virtualThreadPerTaskExecutor()
+                : new ThreadPoolExecutor(
+                        async.getParallelism(), async.getParallelism(),
+                        0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(async.getQueueCapacity()),
+                        new CustomizableThreadFactory("repository-"),
+                        new ThreadPoolExecutor.CallerRunsPolicy()
+                );
+    }
+
+    @Bean
+    public Executor repositoryExecutor(final ExecutorService repositoryExecutorService, final RepositoryProperties properties) {
+        return properties.getAsync().getThreads() == RepositoryProperties.Async.Threads.VIRTUAL
+                ? new ConcurrencyLimitedExecutor(repositoryExecutorService, properties.getAsync().getParallelism())
+                : repositoryExecutorService;
+    }
+
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21 or newer.", e);
+        }
+    }
+
+}
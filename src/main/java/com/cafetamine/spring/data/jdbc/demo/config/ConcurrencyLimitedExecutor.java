@@ -0,0 +1,35 @@
+package com.cafetamine.spring.data.jdbc.demo.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+
+/**
+ * Runs tasks on a delegate executor but lets at most {@code permits} of them run at the same time. Meant for
+ * thread-per-task executors, where the number of threads alone does not bound the connections in use.
+ */
+public class ConcurrencyLimitedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final Semaphore permits;
+
+
+    public ConcurrencyLimitedExecutor(final Executor delegate, final int permits) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(permits);
+    }
+
+
+    @Override
+    public void execute(final Runnable task) {
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.cafetamine.spring.data.jdbc.demo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+
+@Configuration
+@ConditionalOnProperty("repository.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    public DataSource dataSource(final DataSourceProperties primary, final RepositoryProperties properties) {
+        final RepositoryProperties.Replica replica = properties.getReplica();
+        return new ReadWriteDataSource(
+                primary.initializeDataSourceBuilder().build(),
+                DataSourceBuilder.create()
+                                 .driverClassName(primary.determineDriverClassName())
+                                 .url(replica.getUrl())
+                                 .username(replica.getUsername() != null ? replica.getUsername() : primary.determineUsername())
+                                 .password(replica.getPassword() != null ? replica.getPassword() : primary.determinePassword())
+                                 .build()
+        );
+    }
+
+}
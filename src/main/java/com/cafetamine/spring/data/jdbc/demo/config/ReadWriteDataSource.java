@@ -0,0 +1,55 @@
+package com.cafetamine.spring.data.jdbc.demo.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+
+/**
+ * Sends connections of read-only transactions to the replica and everything else to the primary. The physical
+ * connection is only fetched on the first statement, after the transaction has declared whether it is read-only.
+ * Reads joining a read-write transaction reuse its primary connection, so a transaction always sees its own writes.
+ */
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+
+    public ReadWriteDataSource(final DataSource primary, final DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        final AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        router.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+
+    static Route route() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable) {
+            ((AutoCloseable) primary).close();
+        }
+        if (replica instanceof AutoCloseable) {
+            ((AutoCloseable) replica).close();
+        }
+    }
+
+}
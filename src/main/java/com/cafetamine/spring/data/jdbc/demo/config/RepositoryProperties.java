@@ -0,0 +1,107 @@
+package com.cafetamine.spring.data.jdbc.demo.config;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+
+@Data @FieldDefaults(level = AccessLevel.PRIVATE)
+@Component
+@ConfigurationProperties("repository")
+public class RepositoryProperties {
+
+    final Cursor cursor = new Cursor();
+    final Batch batch = new Batch();
+    final BulkImport bulkImport = new BulkImport();
+    final Statements statements = new Statements();
+    final SlowQuery slowQuery = new SlowQuery();
+    final Replica replica = new Replica();
+    final Async async = new Async();
+    final Cache cache = new Cache();
+
+
+    @Data @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Cursor {
+
+        int fetchSize = 500;
+        int hydrationBatchSize = 500;
+
+    }
+
+    @Data @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Batch {
+
+        int size = 500;
+
+    }
+
+    @Data @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class BulkImport {
+
+        int chunkSize = 10_000;
+        int idBlockSize = 10_000;
+        int progressInterval = 100_000;
+
+    }
+
+    @Data @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Statements {
+
+        int defaultBudget = 100;
+        int repeatThreshold = 50;
+        boolean failFast = false;
+        final Map<String, Integer> budgets = new HashMap<>();
+
+        public int budgetOf(final String operation) {
+            return budgets.getOrDefault(operation, defaultBudget);
+        }
+
+    }
+
+    @Data @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class SlowQuery {
+
+        boolean enabled = true;
+        Duration threshold = Duration.ofMillis(100);
+        int queueCapacity = 1000;
+        boolean explain = true;
+
+    }
+
+    @Data @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Replica {
+
+        String url;
+        String username;
+        String password;
+
+    }
+
+    @Data @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Async {
+
+        int parallelism = 4;
+        int queueCapacity = 1000;
+        Threads threads = Threads.PLATFORM;
+
+        public enum Threads { PLATFORM, VIRTUAL }
+
+    }
+
+    @Data @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Cache {
+
+        boolean enabled = true;
+        DataSize maxSize = DataSize.ofMegabytes(64);
+
+    }
+
+}
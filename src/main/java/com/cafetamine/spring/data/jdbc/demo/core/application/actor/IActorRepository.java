@@ -2,12 +2,15 @@ package com.cafetamine.spring.data.jdbc.demo.core.application.actor;
 
 import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.page.KeysetPage;
 import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieActorReference;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 
 public interface IActorRepository {
@@ -18,10 +21,18 @@ public interface IActorRepository {
 
     List<Actor> findAll();
 
+    Stream<Actor> streamAll();
+
+    KeysetPage<Actor> findPageAfter(String continuation, int limit);
+
     Optional<Actor> findById(Long id);
 
+    Map<Long, Actor> findAllById(Set<Long> ids);
+
     Optional<Actor> findByFullname(String fullname);
 
+    List<Actor> findByFullnamePrefix(String prefix, int limit);
+
     Optional<Actor> updateDeathdate(Long id, LocalDate deathdate);
 
     List<Actor> findAllByGender(Gender gender);
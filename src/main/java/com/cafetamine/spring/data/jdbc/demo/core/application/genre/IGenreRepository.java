@@ -4,13 +4,17 @@ import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
 import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieGenreReference;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 
 public interface IGenreRepository {
 
     Optional<Genre> findById(Integer id);
 
+    Map<Integer, Genre> findAllById(Set<Integer> ids);
+
     Optional<Genre> findByName(String name);
 
     Genre create(Genre genre);
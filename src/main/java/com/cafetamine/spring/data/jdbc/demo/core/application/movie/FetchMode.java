@@ -0,0 +1,12 @@
+package com.cafetamine.spring.data.jdbc.demo.core.application.movie;
+
+
+/**
+ * How a movie's cast and genres are loaded. {@link #LAZY} movies resolve each collection on first access, in one
+ * batch for all movies returned by the same call. A collection first read after the loading transaction has ended
+ * is resolved in a new read-only transaction, so it reflects the data committed at that time. {@link #READ_MODEL}
+ * reads the whole movie from its denormalised read model row.
+ */
+public enum FetchMode {
+    EAGER, LAZY, READ_MODEL
+}
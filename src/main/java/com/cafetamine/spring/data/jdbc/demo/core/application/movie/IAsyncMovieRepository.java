@@ -0,0 +1,22 @@
+package com.cafetamine.spring.data.jdbc.demo.core.application.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+
+public interface IAsyncMovieRepository {
+
+    CompletableFuture<List<Movie>> findAll();
+
+    CompletableFuture<Optional<Movie>> findById(Long id);
+
+    CompletableFuture<List<Movie>> findAllByGenre(Genre genre);
+
+    CompletableFuture<List<Movie>> findAllByActor(Actor actor);
+
+}
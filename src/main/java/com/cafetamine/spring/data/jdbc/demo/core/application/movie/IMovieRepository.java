@@ -3,21 +3,40 @@ package com.cafetamine.spring.data.jdbc.demo.core.application.movie;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.MovieSummary;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.page.KeysetPage;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface IMovieRepository {
 
     List<Movie> findAll();
 
+    List<Movie> findAll(FetchMode fetch);
+
+    Stream<Movie> streamAll();
+
+    KeysetPage<Movie> findPageAfter(String continuation, int limit);
+
+    KeysetPage<Movie> findPageByReleaseDateAfter(String continuation, int limit);
+
     Movie create(Movie movie);
 
     Optional<Movie> findById(Long id);
 
+    Optional<Movie> findById(Long id, FetchMode fetch);
+
     List<Movie> findAllByGenre(Genre genre);
 
     List<Movie> findAllByActor(Actor actor);
 
+    List<MovieSummary> findAllSummaries();
+
+    List<MovieSummary> findSummariesByGenre(Genre genre);
+
+    KeysetPage<MovieSummary> findSummaryPageAfter(String continuation, int limit);
+
 }
@@ -0,0 +1,14 @@
+package com.cafetamine.spring.data.jdbc.demo.core.application.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.MovieSearchHit;
+
+import java.util.List;
+
+
+public interface IMovieSearchRepository {
+
+    List<MovieSearchHit> search(String query, int limit);
+
+    int rebuild();
+
+}
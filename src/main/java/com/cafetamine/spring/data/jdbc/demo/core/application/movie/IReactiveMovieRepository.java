@@ -0,0 +1,15 @@
+package com.cafetamine.spring.data.jdbc.demo.core.application.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+
+import org.reactivestreams.Publisher;
+
+
+public interface IReactiveMovieRepository {
+
+    Publisher<Movie> findAll();
+
+    Publisher<Movie> findAllByGenre(Genre genre);
+
+}
@@ -2,23 +2,24 @@ package com.cafetamine.spring.data.jdbc.demo.core.domain.actor;
 
 import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
 
-import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Value;
 import lombok.With;
-import lombok.experimental.FieldDefaults;
 
 import java.time.LocalDate;
 import java.util.Objects;
 
 
-@Data @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE)
+/**
+ * Immutable, so one instance can be shared by every movie hydrated in the same scope. Derive changed copies with the
+ * {@code with} methods.
+ */
+@Value @With
 public class Actor {
 
-    @With Long id;
+    Long id;
     String name, surname;
     LocalDate birthdate;
-    @With LocalDate deathdate;
+    LocalDate deathdate;
     Gender gender;
 
     public String getFullName() {
@@ -0,0 +1,14 @@
+package com.cafetamine.spring.data.jdbc.demo.core.domain.actor;
+
+import lombok.Value;
+
+
+/**
+ * Published whenever a stored actor changes, so that anything derived from it can be invalidated.
+ */
+@Value
+public class ActorChangedEvent {
+
+    Long actorId;
+
+}
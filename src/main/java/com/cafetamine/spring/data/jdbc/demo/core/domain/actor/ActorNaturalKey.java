@@ -0,0 +1,24 @@
+package com.cafetamine.spring.data.jdbc.demo.core.domain.actor;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+
+/**
+ * Identity of an actor independent of its surrogate id, backed by the ACTORS natural key unique index.
+ */
+@Value
+public class ActorNaturalKey {
+
+    String name, surname;
+    LocalDate birthdate;
+    Gender gender;
+
+    public static ActorNaturalKey of(final Actor actor) {
+        return new ActorNaturalKey(actor.getName(), actor.getSurname(), actor.getBirthdate(), actor.getGender());
+    }
+
+}
@@ -1,12 +1,10 @@
 package com.cafetamine.spring.data.jdbc.demo.core.domain.genre;
 
-import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.experimental.FieldDefaults;
+import lombok.Value;
+import lombok.With;
 
 
-@Data @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE)
+@Value @With
 public class Genre {
 
     Integer id;
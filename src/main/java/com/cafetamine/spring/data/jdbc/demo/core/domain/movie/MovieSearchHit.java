@@ -0,0 +1,12 @@
+package com.cafetamine.spring.data.jdbc.demo.core.domain.movie;
+
+import lombok.Value;
+
+
+@Value
+public class MovieSearchHit {
+
+    MovieSummary movie;
+    long score;
+
+}
@@ -0,0 +1,17 @@
+package com.cafetamine.spring.data.jdbc.demo.core.domain.movie;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+
+@Value
+public class MovieSummary {
+
+    Long id;
+    String title;
+    Duration duration;
+    LocalDate releaseDate;
+
+}
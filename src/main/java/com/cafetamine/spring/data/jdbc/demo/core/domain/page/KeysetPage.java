@@ -0,0 +1,18 @@
+package com.cafetamine.spring.data.jdbc.demo.core.domain.page;
+
+import lombok.Value;
+
+import java.util.List;
+
+
+@Value
+public class KeysetPage<T> {
+
+    List<T> items;
+    String continuation;
+
+    public boolean hasNext() {
+        return continuation != null;
+    }
+
+}
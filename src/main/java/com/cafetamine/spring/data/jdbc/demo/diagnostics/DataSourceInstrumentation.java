@@ -0,0 +1,26 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+
+@Component
+@AllArgsConstructor
+public class DataSourceInstrumentation implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        return bean instanceof DataSource && !(bean instanceof InstrumentedDataSource)
+                ? new InstrumentedDataSource((DataSource) bean, slowQueryLog.getObject())
+                : bean;
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Wraps connections so that every {@code execute*} call on their statements is reported to {@link StatementCounter}
+ * before it runs and to a {@link StatementListener} with its bound parameters and duration once it completes. A batch
+ * is reported once, with the parameters bound last.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final StatementListener listener;
+
+
+    public InstrumentedDataSource(final DataSource target, final StatementListener listener) {
+        super(target);
+        this.listener = listener;
+    }
+
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(final Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            final Object result = invoke(target, method, args);
+            return result instanceof Statement
+                    ? statement(method.getReturnType(), (Statement) result, sql(args))
+                    : result;
+        });
+    }
+
+    private Object statement(final Class<?> type, final Statement target, final String preparedSql) {
+        final Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(type, target, (proxy, method, args) -> {
+            final String name = method.getName();
+            if (name.startsWith("execute")) {
+                final String sql = sql(args) != null ? sql(args) : preparedSql;
+                StatementCounter.executed(sql);
+                final long start = System.nanoTime();
+                try {
+                    return invoke(target, method, args);
+                } finally {
+                    listener.completed(sql, new ArrayList<>(parameters.values()), System.nanoTime() - start);
+                }
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable) {
+            ((AutoCloseable) getTargetDataSource()).close();
+        }
+    }
+
+    private static String sql(final Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+    }
+
+    private static <T> T proxy(final Class<T> type, final Object target, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(
+                InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] {type},
+                (proxy, method, args) -> method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")
+                        ? invoke(target, method, args)
+                        : handler.invoke(proxy, method, args)
+        ));
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+}
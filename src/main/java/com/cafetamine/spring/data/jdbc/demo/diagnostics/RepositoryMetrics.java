@@ -0,0 +1,206 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.page.KeysetPage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.AllArgsConstructor;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+
+/**
+ * Records latency, rows returned and SQL statements issued for every call to an {@code I*Repository} adapter.
+ * Statements include those of nested repository calls; rows are not recorded for lazily consumed streams. Calls
+ * returning a {@link CompletionStage} are timed until the stage completes, and calls returning a {@link Publisher}
+ * from subscription until the publisher terminates, counting the elements emitted. Their statements run on other
+ * threads and are not recorded.
+ */
+@Aspect
+@Component
+@AllArgsConstructor
+public class RepositoryMetrics {
+
+    public static final String CALLS = "repository.calls";
+    public static final String ROWS = "repository.rows";
+    public static final String STATEMENTS = "repository.statements";
+
+    private static final double[] percentiles = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+
+    @Around("execution(* com.cafetamine.spring.data.jdbc.demo.core.application..I*Repository.*(..))")
+    public Object record(final ProceedingJoinPoint call) throws Throwable {
+        final Meters meters = meters(call);
+        final long statements = StatementCounter.get();
+        final long start = now();
+        final Object result;
+        try {
+            result = call.proceed();
+        } catch (final Throwable e) {
+            meters.calls(e.getClass().getSimpleName()).record(now() - start, TimeUnit.NANOSECONDS);
+            meters.statements.record(StatementCounter.get() - statements);
+            throw e;
+        }
+        if (result instanceof CompletionStage) {
+            return ((CompletionStage<?>) result).whenComplete((value, failure) -> {
+                final Measurement measurement = new Measurement(meters, start);
+                if (failure != null) {
+                    measurement.failed(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+                } else {
+                    measurement.rows += rows(value);
+                }
+                measurement.finished(false);
+            });
+        } else if (result instanceof Mono) {
+            return Mono.defer(() -> measured((Mono<?>) result, new Measurement(meters, now())));
+        } else if (result instanceof Publisher) {
+            return Flux.defer(() -> measured(Flux.from((Publisher<?>) result), new Measurement(meters, now())));
+        }
+        if (meters.countsRows) {
+            meters.rows.record(rows(result));
+        }
+        meters.success.record(now() - start, TimeUnit.NANOSECONDS);
+        meters.statements.record(StatementCounter.get() - statements);
+        return result;
+    }
+
+    private static <T> Flux<T> measured(final Flux<T> results, final Measurement measurement) {
+        return results.doOnNext(result -> measurement.rows++)
+                      .doOnError(measurement::failed)
+                      .doOnTerminate(() -> measurement.finished(false))
+                      .doOnCancel(() -> measurement.finished(true));
+    }
+
+    private static <T> Mono<T> measured(final Mono<T> result, final Measurement measurement) {
+        return result.doOnNext(value -> measurement.rows++)
+                     .doOnError(measurement::failed)
+                     .doOnTerminate(() -> measurement.finished(false))
+                     .doOnCancel(() -> measurement.finished(true));
+    }
+
+    private long now() {
+        return registry.config().clock().monotonicTime();
+    }
+
+    private Meters meters(final ProceedingJoinPoint call) {
+        final String repository = AopUtils.getTargetClass(call.getTarget()).getSimpleName();
+        final MethodSignature signature = (MethodSignature) call.getSignature();
+        return meters.computeIfAbsent(
+                repository + "." + signature.getName(),
+                key -> new Meters(repository, signature.getName(), countsRows(signature.getReturnType()))
+        );
+    }
+
+    private static boolean countsRows(final Class<?> type) {
+        return type != void.class
+                && !BaseStream.class.isAssignableFrom(type)
+                && !Number.class.isAssignableFrom(type)
+                && !type.isPrimitive()
+                && type != Boolean.class;
+    }
+
+    private static long rows(final Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        } else if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        } else if (result instanceof KeysetPage) {
+            return ((KeysetPage<?>) result).getItems().size();
+        }
+        return 1;
+    }
+
+
+    private class Measurement {
+
+        private final Meters meters;
+        private final long start;
+        private long rows;
+        private String outcome = "success";
+
+        Measurement(final Meters meters, final long start) {
+            this.meters = meters;
+            this.start = start;
+        }
+
+        void failed(final Throwable failure) {
+            outcome = failure.getClass().getSimpleName();
+        }
+
+        void finished(final boolean cancelled) {
+            meters.calls(cancelled ? "cancelled" : outcome).record(now() - start, TimeUnit.NANOSECONDS);
+            if (!cancelled && outcome.equals("success")) {
+                meters.rows.record(rows);
+            }
+        }
+
+    }
+
+    private class Meters {
+
+        private final String repository;
+        private final String method;
+        private final boolean countsRows;
+        private final Timer success;
+        private final DistributionSummary rows;
+        private final DistributionSummary statements;
+
+        Meters(final String repository, final String method, final boolean countsRows) {
+            this.repository = repository;
+            this.method = method;
+            this.countsRows = countsRows;
+            success = timer("success");
+            rows = summary(ROWS, "rows");
+            statements = summary(STATEMENTS, "statements");
+        }
+
+        Timer calls(final String outcome) {
+            return outcome.equals("success") ? success : timer(outcome);
+        }
+
+        private Timer timer(final String outcome) {
+            return Timer.builder(CALLS)
+                        .description("Repository call latency")
+                        .tags("repository", repository, "method", method, "outcome", outcome)
+                        .publishPercentiles(percentiles)
+                        .register(registry);
+        }
+
+        private DistributionSummary summary(final String name, final String unit) {
+            return DistributionSummary.builder(name)
+                                      .baseUnit(unit)
+                                      .tags("repository", repository, "method", method)
+                                      .publishPercentiles(percentiles)
+                                      .register(registry);
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+
+/**
+ * Logs a per-method summary of {@link RepositoryMetrics} when the application shuts down, so short local runs
+ * (imports, benchmarks, tests) show where repository time went without a metrics backend.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class RepositoryMetricsReport {
+
+    private final MeterRegistry registry;
+
+
+    @EventListener(ContextClosedEvent.class)
+    public void onClose() {
+        lines().forEach(log::info);
+    }
+
+    public List<String> lines() {
+        return registry.find(RepositoryMetrics.CALLS).timers()
+                       .stream()
+                       .filter(timer -> timer.count() > 0)
+                       .sorted(Comparator.comparingDouble((Timer timer) -> timer.totalTime(TimeUnit.MILLISECONDS)).reversed())
+                       .map(this::line)
+                       .collect(Collectors.toList());
+    }
+
+    private String line(final Timer timer) {
+        final String repository = timer.getId().getTag("repository");
+        final String method = timer.getId().getTag("method");
+        return String.format(
+                "%s.%s [%s] calls=%d total=%.1fms %s rows/call=%s statements/call=%s",
+                repository,
+                method,
+                timer.getId().getTag("outcome"),
+                timer.count(),
+                timer.totalTime(TimeUnit.MILLISECONDS),
+                percentiles(timer.takeSnapshot().percentileValues()),
+                mean(summary(RepositoryMetrics.ROWS, repository, method)),
+                mean(summary(RepositoryMetrics.STATEMENTS, repository, method))
+        );
+    }
+
+    private DistributionSummary summary(final String name, final String repository, final String method) {
+        return registry.find(name).tags("repository", repository, "method", method).summary();
+    }
+
+    private static String percentiles(final ValueAtPercentile[] values) {
+        return Arrays.stream(values)
+                     .map(value -> String.format("p%d=%.3fms", Math.round(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS)))
+                     .collect(Collectors.joining(" "));
+    }
+
+    private static String mean(final DistributionSummary summary) {
+        return summary == null || summary.count() == 0 ? "-" : String.format("%.1f", summary.mean());
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Logs statements slower than the configured threshold together with their bound parameters. Logging happens on a
+ * single background thread fed by a bounded queue: when the queue is full the entry is dropped and counted instead
+ * of blocking the caller. The first slow occurrence of each query shape is also explained with H2's
+ * {@code EXPLAIN ANALYZE}, which runs the query once more on a separate connection. Only queries are explained,
+ * never writes.
+ */
+@Slf4j
+@Component
+public class SlowQueryLog implements StatementListener, DisposableBean {
+
+    private final RepositoryProperties.SlowQuery properties;
+    private final ObjectProvider<DataSource> dataSource;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> explained = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private long droppedReported;
+
+
+    public SlowQueryLog(final RepositoryProperties properties, final ObjectProvider<DataSource> dataSource) {
+        this.properties = properties.getSlowQuery();
+        this.dataSource = dataSource;
+        this.executor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.properties.getQueueCapacity()),
+                task -> {
+                    final Thread thread = new Thread(task, "slow-query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> dropped.incrementAndGet()
+        );
+    }
+
+
+    @Override
+    public void completed(final String sql, final List<Object> parameters, final long elapsedNanos) {
+        if (properties.isEnabled() && elapsedNanos >= properties.getThreshold().toNanos()) {
+            executor.execute(() -> log(sql, parameters, elapsedNanos));
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    boolean awaitLogged(final Duration timeout) {
+        try {
+            executor.submit(() -> { }).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void log(final String sql, final List<Object> parameters, final long elapsedNanos) {
+        final long droppedTotal = dropped.get();
+        if (droppedTotal > droppedReported) {
+            log.warn("{} slow statements were not logged because the queue was full", droppedTotal - droppedReported);
+            droppedReported = droppedTotal;
+        }
+        log.warn("Slow statement ({} ms): {} {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql, parameters);
+        final String shape = StatementShapes.of(sql);
+        if (properties.isExplain() && shape.regionMatches(true, 0, "SELECT", 0, 6) && explained.add(shape)) {
+            log.warn("Plan of {}{}{}", shape, System.lineSeparator(), explain(sql, parameters));
+        }
+    }
+
+    private String explain(final String sql, final List<Object> parameters) {
+        DataSource target = dataSource.getObject();
+        if (target instanceof InstrumentedDataSource) {
+            target = ((InstrumentedDataSource) target).getTargetDataSource();
+        }
+        try {
+            final List<String> plan = new ArrayList<>();
+            new JdbcTemplate(target).query("EXPLAIN ANALYZE " + sql, rs -> { plan.add(rs.getString(1)); }, parameters.toArray());
+            return String.join(System.lineSeparator(), plan);
+        } catch (final DataAccessException e) {
+            return "unavailable: " + e.getMostSpecificCause().getMessage();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+
+/**
+ * Opens a {@link UnitOfWork} for every {@code I*Repository} call, and for any wider operation passed to
+ * {@link #within}, and checks it against the budgets in {@link RepositoryProperties.Statements}. With fail-fast off,
+ * the first violation of each operation is logged with its statement breakdown and later ones only at debug level.
+ */
+@Slf4j
+@Aspect
+@Component
+@AllArgsConstructor
+public class StatementBudgets {
+
+    private final RepositoryProperties properties;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+
+    @Around("execution(* com.cafetamine.spring.data.jdbc.demo.core.application..I*Repository.*(..))")
+    public Object enforce(final ProceedingJoinPoint call) throws Throwable {
+        final UnitOfWork unit = begin(AopUtils.getTargetClass(call.getTarget()).getSimpleName() + "." + call.getSignature().getName());
+        try {
+            return call.proceed();
+        } finally {
+            end(unit);
+        }
+    }
+
+    public <T> T within(final String operation, final Supplier<T> work) {
+        final UnitOfWork unit = begin(operation);
+        try {
+            return work.get();
+        } finally {
+            end(unit);
+        }
+    }
+
+    private UnitOfWork begin(final String operation) {
+        final RepositoryProperties.Statements statements = properties.getStatements();
+        return UnitOfWork.begin(operation, statements.budgetOf(operation), statements.getRepeatThreshold(), statements.isFailFast());
+    }
+
+    private void end(final UnitOfWork unit) {
+        unit.end();
+        final List<String> violations = unit.violations();
+        if (violations.isEmpty() || properties.getStatements().isFailFast()) {
+            return;
+        }
+        if (reported.add(unit.getOperation())) {
+            log.warn("Statement budget exceeded: {}{}{}", String.join("; ", violations), System.lineSeparator(), unit);
+        } else {
+            log.debug("Statement budget exceeded: {}", String.join("; ", violations));
+        }
+    }
+
+}
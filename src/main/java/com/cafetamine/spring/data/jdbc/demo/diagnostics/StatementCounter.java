@@ -0,0 +1,26 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+
+/**
+ * Running count of SQL statements executed by the current thread through a {@link InstrumentedDataSource}.
+ * Callers read it before and after a unit of work and take the difference.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<long[]> executed = ThreadLocal.withInitial(() -> new long[1]);
+
+
+    private StatementCounter() {
+
+    }
+
+    public static long get() {
+        return executed.get()[0];
+    }
+
+    static void executed(final String sql) {
+        executed.get()[0]++;
+        UnitOfWork.record(sql);
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import java.util.List;
+
+
+public interface StatementListener {
+
+    void completed(String sql, List<Object> parameters, long elapsedNanos);
+
+}
@@ -0,0 +1,32 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import java.util.regex.Pattern;
+
+
+/**
+ * Reduces SQL to its shape: literals become {@code ?}, parameter lists of any length collapse to {@code (?)} and
+ * whitespace is normalised, so statements differing only in values or chunk size compare equal.
+ */
+public final class StatementShapes {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+
+    private StatementShapes() {
+
+    }
+
+    public static String of(final String sql) {
+        if (sql == null) {
+            return "<unknown>";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+
+/**
+ * Statements issued by the current thread between {@link #begin} and {@link #end}, grouped by shape. Units nest: a
+ * statement is recorded by every open unit, and each unit checks it against its own budget and repeat threshold. The
+ * first statement of each shape is kept as issued, with its parameter markers, so it can be explained or replayed.
+ */
+public class UnitOfWork {
+
+    private static final ThreadLocal<Deque<UnitOfWork>> open = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final String operation;
+    private final int budget;
+    private final int repeatThreshold;
+    private final boolean failFast;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+    private final Map<String, String> sql = new LinkedHashMap<>();
+    private int statements;
+
+
+    private UnitOfWork(final String operation, final int budget, final int repeatThreshold, final boolean failFast) {
+        this.operation = operation;
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+        this.failFast = failFast;
+    }
+
+    public static UnitOfWork begin(final String operation, final int budget, final int repeatThreshold, final boolean failFast) {
+        final UnitOfWork unit = new UnitOfWork(operation, budget, repeatThreshold, failFast);
+        open.get().push(unit);
+        return unit;
+    }
+
+    public void end() {
+        open.get().remove(this);
+    }
+
+    static void record(final String sql) {
+        final Deque<UnitOfWork> units = open.get();
+        if (!units.isEmpty()) {
+            final String shape = StatementShapes.of(sql);
+            units.forEach(unit -> unit.add(shape, sql));
+        }
+    }
+
+    private void add(final String shape, final String statement) {
+        statements++;
+        sql.putIfAbsent(shape, statement);
+        final int repeats = shapes.merge(shape, 1, Integer::sum);
+        if (failFast && (statements == budget + 1 || repeats == repeatThreshold + 1)) {
+            throw new StatementBudgetExceededException(String.join("; ", violations()));
+        }
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public Map<String, Integer> getShapes() {
+        return shapes;
+    }
+
+    public Collection<String> getSql() {
+        return sql.values();
+    }
+
+    public List<String> violations() {
+        final List<String> violations = new ArrayList<>();
+        if (statements > budget) {
+            violations.add(String.format("%s issued %d statements, budget is %d", operation, statements, budget));
+        }
+        shapes.forEach((shape, repeats) -> {
+            if (repeats > repeatThreshold) {
+                violations.add(String.format("%s repeated %d times: %s", operation, repeats, shape));
+            }
+        });
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return shapes.entrySet()
+                     .stream()
+                     .map(shape -> String.format("%5d x %s", shape.getValue(), shape.getKey()))
+                     .collect(Collectors.joining(System.lineSeparator(), operation + ": " + statements + " statements" + System.lineSeparator(), ""));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.cafetamine.spring.data.jdbc.demo.importer;
+
+import lombok.Value;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+
+/**
+ * Location of a tab separated catalog dump. Every file starts with a header row and uses {@code \N} for nulls.
+ * <ul>
+ *     <li>{@code genres.tsv} (optional): {@code name}</li>
+ *     <li>{@code people.tsv}: {@code key, name, surname, birthdate, deathdate, gender}</li>
+ *     <li>{@code movies.tsv}: {@code key, title, durationSeconds, releaseDate, genres} with genres comma separated
+ *     in order of significance</li>
+ *     <li>{@code cast.tsv}: {@code movieKey, personKey, role}</li>
+ * </ul>
+ */
+@Value
+public class CatalogDump {
+
+    Path genres, people, movies, cast;
+
+
+    public static CatalogDump in(final Path directory) {
+        return new CatalogDump(
+                directory.resolve("genres.tsv"),
+                directory.resolve("people.tsv"),
+                directory.resolve("movies.tsv"),
+                directory.resolve("cast.tsv")
+        );
+    }
+
+    Optional<Path> findGenres() {
+        return Optional.ofNullable(genres).filter(Files::exists);
+    }
+
+}
@@ -0,0 +1,252 @@
+package com.cafetamine.spring.data.jdbc.demo.importer;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorNaturalKey;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.Chunks;
+import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieReadModel;
+import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieSearchRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Loads a {@link CatalogDump} without going through the repositories. Files are streamed a line at a time and
+ * every row is validated by building the matching domain object. Actors are deduplicated by natural key and
+ * genres by name, both against the database and within the dump. Ids come from reserved blocks, and rows are
+ * written as JDBC batches with one transaction per chunk.
+ * <p>
+ * Dump keys and the roles of every movie are kept in memory for the whole import, so memory grows with the number of
+ * people, movies and credits. A movie listing a genre twice, or a role credited twice in the same movie, is rejected
+ * as invalid before it reaches the join table keys.
+ * A failed import leaves its committed chunks in place. The movie read model and the search index are backfilled once
+ * all chunks are written.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class CatalogImporter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final RepositoryProperties properties;
+    private final MovieReadModel readModel;
+    private final MovieSearchRepository searchRepository;
+
+
+    public ImportReport importCatalog(final CatalogDump dump) {
+        return new ImportRun().execute(dump);
+    }
+
+
+    private class ImportRun {
+
+        private final RepositoryProperties.BulkImport settings = properties.getBulkImport();
+        private final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        private final Map<ImportTable, List<Object[]>> pending = new EnumMap<>(ImportTable.class);
+        private final Map<ImportTable, Long> written = new EnumMap<>(ImportTable.class);
+        private final IdBlockAllocator genreIds = new IdBlockAllocator(jdbcTemplate, "GENRES", settings.getIdBlockSize());
+        private final IdBlockAllocator actorIds = new IdBlockAllocator(jdbcTemplate, "ACTORS", settings.getIdBlockSize());
+        private final IdBlockAllocator movieIds = new IdBlockAllocator(jdbcTemplate, "MOVIES", settings.getIdBlockSize());
+        private final Map<String, Integer> genres = new HashMap<>();
+        private final Map<ActorNaturalKey, Long> actors = new HashMap<>();
+        private final Map<String, Long> people = new HashMap<>();
+        private final Map<String, Long> movies = new HashMap<>();
+        private final Map<Long, Set<String>> roles = new HashMap<>();
+        private final long started = System.nanoTime();
+        private long pendingRows, writtenRows, nextProgress = settings.getProgressInterval();
+        private long reusedActors, reusedGenres;
+
+        ImportRun() {
+            Arrays.stream(ImportTable.values()).forEach(table -> {
+                pending.put(table, new ArrayList<>());
+                written.put(table, 0L);
+            });
+        }
+
+        ImportReport execute(final CatalogDump dump) {
+            jdbcTemplate.query("SELECT Id, Name FROM GENRES", rs -> {
+                genres.put(rs.getString("Name"), rs.getInt("Id"));
+            });
+            jdbcTemplate.query("SELECT Id, Name, Surname, Birthdate, Gender FROM ACTORS", rs -> {
+                actors.put(
+                        new ActorNaturalKey(rs.getString("Name"), rs.getString("Surname"), rs.getDate("Birthdate").toLocalDate(), Gender.valueOf(rs.getString("Gender"))),
+                        rs.getLong("Id")
+                );
+            });
+            dump.findGenres().ifPresent(path -> each(path, record -> genre(record.get("name"))));
+            each(dump.getPeople(), this::person);
+            each(dump.getMovies(), this::movie);
+            each(dump.getCast(), this::credit);
+            flush();
+            readModel.backfill();
+            searchRepository.backfill();
+            final ImportReport report = new ImportReport(
+                    written.entrySet().stream().collect(Collectors.toMap(e -> e.getKey().name(), Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new)),
+                    reusedActors,
+                    reusedGenres,
+                    Duration.ofNanos(System.nanoTime() - started)
+            );
+            log.info("Imported {} rows in {} ({} rows/s), reused {} actors and {} genres",
+                    report.getRows(), report.getElapsed(), Math.round(report.getRowsPerSecond()), reusedActors, reusedGenres);
+            return report;
+        }
+
+        private void each(final Path path, final Consumer<DumpRecord> consumer) {
+            try (final Stream<DumpRecord> records = DelimitedReader.read(path)) {
+                records.forEach(consumer);
+            }
+        }
+
+        private int genre(final String name) {
+            final Integer existing = genres.get(name);
+            if (existing != null) {
+                reusedGenres++;
+                return existing;
+            }
+            final Genre genre = new Genre((int) nextId(genreIds), name);
+            genres.put(genre.getName(), genre.getId());
+            add(ImportTable.GENRES, genre.getId(), genre.getName());
+            return genre.getId();
+        }
+
+        private void person(final DumpRecord record) {
+            final Actor actor = new Actor(
+                    null,
+                    record.get("name"),
+                    record.get("surname"),
+                    record.getDate("birthdate"),
+                    record.findDate("deathdate").orElse(null),
+                    gender(record)
+            );
+            final Long existing = actors.get(ActorNaturalKey.of(actor));
+            final long id;
+            if (existing != null) {
+                reusedActors++;
+                id = existing;
+            } else {
+                id = nextId(actorIds);
+                actors.put(ActorNaturalKey.of(actor), id);
+                add(ImportTable.ACTORS, id, actor.getName(), actor.getSurname(), Date.valueOf(actor.getBirthdate()),
+                    actor.getDeathdate() == null ? null : Date.valueOf(actor.getDeathdate()), actor.getGender().name());
+            }
+            if (people.putIfAbsent(record.get("key"), id) != null) {
+                throw record.invalid("duplicate person key " + record.get("key"));
+            }
+        }
+
+        private void movie(final DumpRecord record) {
+            final List<String> genreNames = record.find("genres")
+                                                  .map(names -> Arrays.stream(names.split(",")).map(String::trim).filter(name -> !name.isEmpty()))
+                                                  .orElseGet(Stream::empty)
+                                                  .collect(Collectors.toList());
+            final Set<String> distinctGenres = new HashSet<>();
+            for (final String name : genreNames) {
+                if (!distinctGenres.add(name)) {
+                    throw record.invalid("duplicate genre " + name);
+                }
+            }
+            final Movie movie = new Movie(
+                    nextId(movieIds),
+                    record.get("title"),
+                    Duration.ofSeconds(record.getLong("durationSeconds")),
+                    record.getDate("releaseDate"),
+                    Collections.emptyMap(),
+                    genreNames.stream()
+                              .map(name -> new Genre(genre(name), name))
+                              .collect(Collectors.toList())
+            );
+            if (movies.putIfAbsent(record.get("key"), movie.getId()) != null) {
+                throw record.invalid("duplicate movie key " + record.get("key"));
+            }
+            add(ImportTable.MOVIES, movie.getId(), movie.getTitle(), movie.getDuration().toSeconds(), Date.valueOf(movie.getReleaseDate()));
+            for (int significance = 0; significance < movie.getGenres().size(); significance++) {
+                add(ImportTable.MOVIE_GENRES, movie.getGenres().get(significance).getId(), movie.getId(), significance + 1);
+            }
+        }
+
+        private void credit(final DumpRecord record) {
+            final Long movie = movies.get(record.get("movieKey"));
+            final Long person = people.get(record.get("personKey"));
+            if (movie == null || person == null) {
+                throw new DataIntegrityException(String.format(
+                        "%s: unknown %s",
+                        record.location(),
+                        movie == null ? "movie " + record.get("movieKey") : "person " + record.get("personKey")
+                ));
+            }
+            if (!roles.computeIfAbsent(movie, id -> new HashSet<>()).add(record.get("role"))) {
+                throw record.invalid(String.format("duplicate role %s for movie %s", record.get("role"), record.get("movieKey")));
+            }
+            add(ImportTable.MOVIE_ACTORS, person, movie, record.get("role"));
+        }
+
+        private Gender gender(final DumpRecord record) {
+            try {
+                return Gender.valueOf(record.get("gender"));
+            } catch (final IllegalArgumentException e) {
+                throw record.invalid("unknown gender " + record.get("gender"));
+            }
+        }
+
+        private long nextId(final IdBlockAllocator allocator) {
+            if (allocator.isExhausted()) {
+                allocator.reserve();
+            }
+            return allocator.next();
+        }
+
+        private void add(final ImportTable table, final Object... row) {
+            pending.get(table).add(row);
+            if (++pendingRows >= settings.getChunkSize()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            transaction.executeWithoutResult(status -> pending.forEach((table, rows) ->
+                    Chunks.of(rows, properties.getBatch().getSize()).forEach(batch -> jdbcTemplate.batchUpdate(table.insert, batch))
+            ));
+            pending.forEach((table, rows) -> {
+                written.merge(table, (long) rows.size(), Long::sum);
+                rows.clear();
+            });
+            writtenRows += pendingRows;
+            pendingRows = 0;
+            if (writtenRows >= nextProgress) {
+                final double seconds = (System.nanoTime() - started) / 1_000_000_000d;
+                log.info("Imported {} rows ({} rows/s)", writtenRows, Math.round(writtenRows / seconds));
+                nextProgress = (writtenRows / settings.getProgressInterval() + 1) * settings.getProgressInterval();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.cafetamine.spring.data.jdbc.demo.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+
+/**
+ * Reads a tab separated file one line at a time. The returned stream owns the file handle and must be closed.
+ */
+final class DelimitedReader {
+
+    private DelimitedReader() {
+    }
+
+    static Stream<DumpRecord> read(final Path path) {
+        final String file = path.getFileName().toString();
+        final BufferedReader reader;
+        final Map<String, Integer> header = new HashMap<>();
+        try {
+            reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            final String headerLine = reader.readLine();
+            if (headerLine == null) {
+                reader.close();
+                throw new IllegalArgumentException(file + ": missing header");
+            }
+            final String[] columns = headerLine.split("\t", -1);
+            for (int i = 0; i < columns.length; i++) {
+                header.put(columns[i].trim(), i);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final long[] line = {1};
+        return reader.lines()
+                     .onClose(() -> close(reader))
+                     .peek(ignored -> line[0]++)
+                     .filter(text -> !text.isEmpty())
+                     .map(text -> new DumpRecord(file, line[0], header, text.split("\t", -1)));
+    }
+
+    private static void close(final BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.cafetamine.spring.data.jdbc.demo.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+
+@AllArgsConstructor
+class DumpRecord {
+
+    static final String NULL = "\\N";
+
+    private final String file;
+    @Getter private final long line;
+    private final Map<String, Integer> header;
+    private final String[] values;
+
+
+    Optional<String> find(final String column) {
+        final Integer index = header.get(column);
+        if (index == null) {
+            throw invalid("missing column " + column);
+        }
+        return index < values.length && !values[index].isEmpty() && !NULL.equals(values[index])
+                ? Optional.of(values[index])
+                : Optional.empty();
+    }
+
+    String get(final String column) {
+        return find(column).orElseThrow(() -> invalid("no value for " + column));
+    }
+
+    Optional<LocalDate> findDate(final String column) {
+        try {
+            return find(column).map(LocalDate::parse);
+        } catch (final RuntimeException e) {
+            throw invalid("malformed " + column);
+        }
+    }
+
+    LocalDate getDate(final String column) {
+        return findDate(column).orElseThrow(() -> invalid("no value for " + column));
+    }
+
+    long getLong(final String column) {
+        try {
+            return Long.parseLong(get(column));
+        } catch (final NumberFormatException e) {
+            throw invalid("malformed " + column);
+        }
+    }
+
+    String location() {
+        return String.format("%s:%d", file, line);
+    }
+
+    IllegalArgumentException invalid(final String reason) {
+        return new IllegalArgumentException(String.format("%s: %s", location(), reason));
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.cafetamine.spring.data.jdbc.demo.importer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+
+/**
+ * Hands out ids for one table from blocks reserved up front. A block is drawn from the sequence behind the table's
+ * identity column in a single statement, and every value of that sequence is handed out once, so rows inserted
+ * concurrently through the repositories never take an id the import is about to use. Blocks are contiguous unless
+ * a concurrent insert draws from the sequence at the same time. Sequences are not transactional, so reserving a
+ * block neither commits the caller's transaction nor is undone when the chunk using it fails.
+ */
+class IdBlockAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final int blockSize;
+    private String sequence;
+    private List<Long> block = List.of();
+    private int next;
+
+
+    IdBlockAllocator(final JdbcTemplate jdbcTemplate, final String table, final int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.blockSize = blockSize;
+    }
+
+    boolean isExhausted() {
+        return next >= block.size();
+    }
+
+    void reserve() {
+        if (sequence == null) {
+            sequence = jdbcTemplate.queryForObject(
+                    "SELECT SEQUENCE_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = ? AND COLUMN_NAME = 'ID'",
+                    String.class,
+                    table
+            );
+        }
+        block = jdbcTemplate.queryForList(
+                String.format("SELECT NEXT VALUE FOR %s FROM SYSTEM_RANGE(1, ?)", sequence),
+                Long.class,
+                blockSize
+        );
+        next = 0;
+    }
+
+    long next() {
+        if (isExhausted()) {
+            throw new IllegalStateException("No id reserved for " + table);
+        }
+        return block.get(next++);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.cafetamine.spring.data.jdbc.demo.importer;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+
+@Value
+public class ImportReport {
+
+    Map<String, Long> rowsByTable;
+    long reusedActors, reusedGenres;
+    Duration elapsed;
+
+
+    public long getRows() {
+        return rowsByTable.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double getRowsPerSecond() {
+        return elapsed.isZero() ? getRows() : getRows() * 1_000_000_000d / elapsed.toNanos();
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.cafetamine.spring.data.jdbc.demo.importer;
+
+
+/**
+ * Tables written by the import, in foreign key order.
+ */
+enum ImportTable {
+
+    GENRES("INSERT INTO GENRES (Id, Name) VALUES (?, ?)"),
+    ACTORS("INSERT INTO ACTORS (Id, Name, Surname, Birthdate, Deathdate, Gender) VALUES (?, ?, ?, ?, ?, ?)"),
+    MOVIES("INSERT INTO MOVIES (Id, Title, Duration, ReleaseDate) VALUES (?, ?, ?, ?)"),
+    MOVIE_ACTORS("INSERT INTO MOVIE_ACTORS (ActorId, MovieId, Role) VALUES (?, ?, ?)"),
+    MOVIE_GENRES("INSERT INTO MOVIE_GENRES (GenreId, MovieId, Significance) VALUES (?, ?, ?)");
+
+    final String insert;
+
+
+    ImportTable(final String insert) {
+        this.insert = insert;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.actor;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.Chunks;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+@Component
+@AllArgsConstructor
+class ActorBatchWriter {
+
+    private static final String INSERT_ACTOR = "INSERT INTO ACTORS (Name, Surname, Birthdate, Deathdate, Gender) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryProperties properties;
+
+
+    List<ActorEntity> insertAll(final List<ActorEntity> actors) {
+        if (actors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<ActorEntity>>) connection -> {
+            final List<ActorEntity> saved = new ArrayList<>(actors.size());
+            try (final PreparedStatement statement = connection.prepareStatement(INSERT_ACTOR, new String[] {"ID"})) {
+                for (final List<ActorEntity> batch : Chunks.of(actors, properties.getBatch().getSize())) {
+                    for (final ActorEntity actor : batch) {
+                        bind(statement, actor);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    saved.addAll(readGeneratedIds(statement, batch));
+                }
+            }
+            return saved;
+        });
+    }
+
+    private static void bind(final PreparedStatement statement, final ActorEntity actor) throws SQLException {
+        statement.setString(1, actor.getName());
+        statement.setString(2, actor.getSurname());
+        statement.setObject(3, actor.getBirthdate());
+        if (actor.getDeathdate() == null) {
+            statement.setNull(4, Types.TIMESTAMP);
+        } else {
+            statement.setObject(4, actor.getDeathdate());
+        }
+        statement.setString(5, actor.getGender().name());
+    }
+
+    private static List<ActorEntity> readGeneratedIds(final PreparedStatement statement, final List<ActorEntity> batch) throws SQLException {
+        final List<ActorEntity> saved = new ArrayList<>(batch.size());
+        try (final ResultSet keys = statement.getGeneratedKeys()) {
+            for (final ActorEntity actor : batch) {
+                if (!keys.next()) {
+                    throw new DataIntegrityException(String.format("Expected %d generated actor ids, got %d", batch.size(), saved.size()));
+                }
+                saved.add(actor.withId(keys.getLong(1)));
+            }
+        }
+        return saved;
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.cafetamine.spring.data.jdbc.demo.repository.actor;
 
 import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorNaturalKey;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
 
 import lombok.AccessLevel;
@@ -26,6 +27,10 @@ public class ActorEntity {
     Gender gender;
 
 
+    ActorNaturalKey getNaturalKey() {
+        return new ActorNaturalKey(name, surname, birthdate, gender);
+    }
+
     Actor toDomain() {
         return new Actor(id, name, surname, birthdate, deathdate, gender);
     }
@@ -0,0 +1,17 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.actor;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorNaturalKey;
+
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Repository fragment of {@link JdbcActorRepository} for lookups on the full natural key, which derived and
+ * {@code @Query} methods cannot bind as a list of tuples.
+ */
+public interface ActorNaturalKeyQueries {
+
+    List<ActorEntity> findAllByNaturalKeyIn(Collection<ActorNaturalKey> keys);
+
+}
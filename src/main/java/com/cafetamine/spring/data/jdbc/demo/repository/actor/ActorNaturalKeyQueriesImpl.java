@@ -0,0 +1,43 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.actor;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorNaturalKey;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Joins the keys, passed as a VALUES list, to ACTORS on all four natural key columns, so every key is a single
+ * ACTORS_NATURAL_KEY_IDX lookup.
+ */
+@AllArgsConstructor
+class ActorNaturalKeyQueriesImpl implements ActorNaturalKeyQueries {
+
+    private final JdbcTemplate jdbcTemplate;
+
+
+    @Override
+    public List<ActorEntity> findAllByNaturalKeyIn(final Collection<ActorNaturalKey> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Object> parameters = new ArrayList<>(4 * keys.size());
+        keys.forEach(key -> Collections.addAll(parameters, key.getSurname(), key.getName(), Date.valueOf(key.getBirthdate()), key.getGender().name()));
+        return jdbcTemplate.query(
+                "SELECT ACTORS.* FROM (VALUES " + String.join(", ", Collections.nCopies(keys.size(), "(?, ?, ?, ?)")) + ") " +
+                "Keys(Surname, Name, Birthdate, Gender) " +
+                "JOIN ACTORS ON ACTORS.Surname = Keys.Surname AND ACTORS.Name = Keys.Name " +
+                "AND ACTORS.Birthdate = Keys.Birthdate AND ACTORS.Gender = Keys.Gender",
+                new ActorRowMapper(),
+                parameters.toArray()
+        );
+    }
+
+}
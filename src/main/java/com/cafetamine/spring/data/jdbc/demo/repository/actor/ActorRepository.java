@@ -1,20 +1,39 @@
 package com.cafetamine.spring.data.jdbc.demo.repository.actor;
 
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorChangedEvent;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorNaturalKey;
 import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.page.KeysetPage;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.Chunks;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.ContinuationTokens;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.CursorStreams;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.IdentityMap;
 import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieActorReference;
 
 import lombok.AllArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 
@@ -23,25 +42,50 @@ import java.util.stream.StreamSupport;
 public class ActorRepository implements IActorRepository {
 
     private final JdbcActorRepository actorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryProperties properties;
+    private final ActorBatchWriter batchWriter;
+    private final ApplicationEventPublisher events;
 
 
     @Override
+    @Transactional
     public Actor create(final Actor actor) {
-         return actorRepository.save(ActorEntity.fromDomain(actor)).toDomain();
+        return createAll(Collections.singletonList(actor)).get(0);
     }
 
     @Override
+    @Transactional
     public List<Actor> createAll(final List<Actor> actors) {
-        return StreamSupport.stream(actorRepository.saveAll(
-                    actors.stream()
-                          .map(ActorEntity::fromDomain)
-                          .collect(Collectors.toList())
-                ).spliterator(), false)
-                .map(ActorEntity::toDomain)
-                .collect(Collectors.toList());
+        final List<ActorEntity> entities = actors.stream()
+                                                 .map(ActorEntity::fromDomain)
+                                                 .collect(Collectors.toList());
+        final Map<ActorNaturalKey, ActorEntity> existing = findAllByNaturalKey(entities.stream()
+                                                                                       .filter(actor -> actor.getId() == null)
+                                                                                       .map(ActorEntity::getNaturalKey)
+                                                                                       .collect(Collectors.toSet()));
+        entities.stream()
+                .filter(actor -> actor.getId() == null && actor.getDeathdate() != null)
+                .forEach(actor -> Optional.ofNullable(existing.get(actor.getNaturalKey()))
+                                          .filter(match -> !actor.getDeathdate().equals(match.getDeathdate()))
+                                          .ifPresent(match -> existing.put(actor.getNaturalKey(), recordDeathdate(match, actor.getDeathdate()))));
+        final Map<ActorNaturalKey, ActorEntity> pending = new LinkedHashMap<>();
+        entities.stream()
+                .filter(actor -> actor.getId() == null && !existing.containsKey(actor.getNaturalKey()))
+                .forEach(actor -> pending.putIfAbsent(actor.getNaturalKey(), actor));
+        batchWriter.insertAll(new ArrayList<>(pending.values()))
+                   .forEach(actor -> existing.put(actor.getNaturalKey(), actor));
+        updateChanged(entities.stream()
+                              .filter(actor -> actor.getId() != null)
+                              .collect(Collectors.toList()));
+        return entities.stream()
+                       .map(actor -> actor.getId() == null ? existing.get(actor.getNaturalKey()) : actor)
+                       .map(ActorEntity::toDomain)
+                       .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Actor> findAll() {
         return StreamSupport.stream(actorRepository.findAll().spliterator(), false)
                             .map(ActorEntity::toDomain)
@@ -49,21 +93,72 @@ public class ActorRepository implements IActorRepository {
     }
 
     @Override
+    public Stream<Actor> streamAll() {
+        return CursorStreams.query(jdbcTemplate, "SELECT * FROM ACTORS ORDER BY Id", properties.getCursor().getFetchSize(), new ActorRowMapper())
+                            .map(ActorEntity::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Actor> findPageAfter(final String continuation, final int limit) {
+        Assert.isTrue(limit > 0, "Limit must be positive.");
+        final Long lastId = continuation == null
+                ? 0L
+                : ContinuationTokens.decode(continuation, 1, keys -> Long.valueOf(keys.get(0)));
+        final List<Actor> actors = actorRepository.findPageAfter(lastId, limit + 1)
+                                                  .stream()
+                                                  .map(ActorEntity::toDomain)
+                                                  .collect(Collectors.toList());
+        return actors.size() > limit
+                ? new KeysetPage<>(actors.subList(0, limit), ContinuationTokens.encode(actors.get(limit - 1).getId()))
+                : new KeysetPage<>(actors, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Actor> findById(final Long id) {
         return actorRepository.findById(id).map(ActorEntity::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Actor> findAllById(final Set<Long> ids) {
+        return Chunks.of(ids)
+                     .stream()
+                     .flatMap(chunk -> StreamSupport.stream(actorRepository.findAllById(chunk).spliterator(), false))
+                     .map(ActorEntity::toDomain)
+                     .collect(Collectors.toMap(Actor::getId, Function.identity()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Actor> findByFullname(final String fullname) {
         return actorRepository.findByFullname(fullname).map(ActorEntity::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Actor> findByFullnamePrefix(final String prefix, final int limit) {
+        Assert.isTrue(limit > 0, "Limit must be positive.");
+        return actorRepository.findAllByFullnamePrefix(prefix, limit)
+                              .stream()
+                              .map(ActorEntity::toDomain)
+                              .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     public Optional<Actor> updateDeathdate(final Long id, final LocalDate deathdate) {
-        return actorRepository.updateDeathdate(id, deathdate) ? findById(id) : Optional.empty();
+        if (!actorRepository.updateDeathdate(id, deathdate)) {
+            return Optional.empty();
+        }
+        IdentityMap.invalidate();
+        events.publishEvent(new ActorChangedEvent(id));
+        return findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Actor> findAllByGender(final Gender gender) {
         return actorRepository.findAllByGender(gender.name())
                               .stream()
@@ -72,13 +167,49 @@ public class ActorRepository implements IActorRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Actor> findAllByReference(final Map<String, MovieActorReference> references) {
+        final Map<Long, Actor> actors = findAllById(references.values()
+                                                              .stream()
+                                                              .map(MovieActorReference::getActorId)
+                                                              .collect(Collectors.toSet()));
         return references.entrySet()
                          .stream()
                          .collect(Collectors.toMap(
                                  Map.Entry::getKey,
-                                 reference -> findById(reference.getValue().getActorId())
+                                 reference -> Optional.ofNullable(actors.get(reference.getValue().getActorId()))
                          .orElseThrow(DataIntegrityException::new)));
     }
 
+    private void updateChanged(final List<ActorEntity> actors) {
+        final Map<Long, ActorEntity> current = Chunks.of(actors.stream().map(ActorEntity::getId).collect(Collectors.toSet()))
+                                                     .stream()
+                                                     .flatMap(chunk -> StreamSupport.stream(actorRepository.findAllById(chunk).spliterator(), false))
+                                                     .collect(Collectors.toMap(ActorEntity::getId, Function.identity()));
+        final Map<Long, ActorEntity> changed = new LinkedHashMap<>();
+        actors.stream()
+              .filter(actor -> !actor.equals(current.get(actor.getId())))
+              .forEach(actor -> changed.put(actor.getId(), actor));
+        if (changed.isEmpty()) {
+            return;
+        }
+        actorRepository.saveAll(changed.values());
+        IdentityMap.invalidate();
+        changed.keySet().forEach(id -> events.publishEvent(new ActorChangedEvent(id)));
+    }
+
+    private ActorEntity recordDeathdate(final ActorEntity actor, final LocalDate deathdate) {
+        actorRepository.updateDeathdate(actor.getId(), deathdate);
+        IdentityMap.invalidate();
+        events.publishEvent(new ActorChangedEvent(actor.getId()));
+        return actor.withDeathdate(deathdate);
+    }
+
+    private Map<ActorNaturalKey, ActorEntity> findAllByNaturalKey(final Set<ActorNaturalKey> keys) {
+        return Chunks.of(keys)
+                     .stream()
+                     .flatMap(chunk -> actorRepository.findAllByNaturalKeyIn(chunk).stream())
+                     .collect(Collectors.toMap(ActorEntity::getNaturalKey, Function.identity(), (first, second) -> first, HashMap::new));
+    }
+
 }
@@ -0,0 +1,26 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.actor;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+
+class ActorRowMapper implements RowMapper<ActorEntity> {
+
+    @Override
+    public ActorEntity mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+        return new ActorEntity(
+                rs.getLong("Id"),
+                rs.getString("Name"),
+                rs.getString("Surname"),
+                rs.getObject("Birthdate", LocalDate.class),
+                rs.getObject("Deathdate", LocalDate.class),
+                Gender.valueOf(rs.getString("Gender"))
+        );
+    }
+
+}
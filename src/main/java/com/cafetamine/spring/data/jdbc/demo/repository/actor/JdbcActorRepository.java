@@ -11,14 +11,20 @@ import java.util.Optional;
 
 
 @Repository
-public interface JdbcActorRepository extends CrudRepository<ActorEntity, Long> {
+public interface JdbcActorRepository extends CrudRepository<ActorEntity, Long>, ActorNaturalKeyQueries {
 
-    @Query("SELECT * FROM ACTORS WHERE CONCAT(Name, ' ', Surname) LIKE :fullname")
+    @Query("SELECT * FROM ACTORS WHERE FullName = LOWER(:fullname)")
     Optional<ActorEntity> findByFullname(String fullname);
 
+    @Query("SELECT * FROM ACTORS WHERE FullName >= LOWER(:prefix) AND FullName < CONCAT(LOWER(:prefix), CHAR(65535)) ORDER BY FullName, Id LIMIT :limit")
+    List<ActorEntity> findAllByFullnamePrefix(String prefix, int limit);
+
     @Query("SELECT * FROM ACTORS WHERE Gender = :gender")
     List<ActorEntity> findAllByGender(String gender);
 
+    @Query("SELECT * FROM ACTORS WHERE Id > :lastId ORDER BY Id LIMIT :limit")
+    List<ActorEntity> findPageAfter(Long lastId, int limit);
+
     @Modifying
     @Query("UPDATE ACTORS SET Deathdate = :deathdate WHERE Id = :id")
     boolean updateDeathdate(Long id, LocalDate deathdate);
@@ -0,0 +1,33 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+
+public final class Chunks {
+
+    public static final int IN_CLAUSE_SIZE = 500;
+
+
+    private Chunks() {
+    }
+
+    public static <T> List<List<T>> of(final Collection<T> elements) {
+        return of(elements, IN_CLAUSE_SIZE);
+    }
+
+    public static <T> List<List<T>> of(final Collection<T> elements, final int size) {
+        if (elements.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<T> source = new ArrayList<>(elements);
+        final List<List<T>> chunks = new ArrayList<>((source.size() + size - 1) / size);
+        for (int from = 0; from < source.size(); from += size) {
+            chunks.add(new ArrayList<>(source.subList(from, Math.min(from + size, source.size()))));
+        }
+        return chunks;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+public final class ContinuationTokens {
+
+    private static final String SEPARATOR = "|";
+
+
+    private ContinuationTokens() {
+    }
+
+    public static String encode(final Object... keys) {
+        final String raw = Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <T> T decode(final String token, final int keys, final Function<List<String>, T> parser) {
+        try {
+            final List<String> parts = Arrays.asList(
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\" + SEPARATOR, -1)
+            );
+            if (parts.size() != keys) {
+                throw new IllegalArgumentException("Unexpected number of keys: " + parts.size());
+            }
+            return parser.apply(parts);
+        } catch (final RuntimeException e) {
+            throw new IllegalArgumentException("Malformed continuation token: " + token, e);
+        }
+    }
+
+}
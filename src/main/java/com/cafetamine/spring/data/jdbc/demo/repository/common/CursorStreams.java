@@ -0,0 +1,125 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.common;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * Streams backed by an open JDBC cursor. The connection is held until the stream is closed, so callers must
+ * consume them in a try-with-resources block.
+ */
+public final class CursorStreams {
+
+    private CursorStreams() {
+    }
+
+    public static <T> Stream<T> query(
+            final JdbcTemplate jdbcTemplate,
+            final String sql,
+            final int fetchSize,
+            final RowMapper<T> rowMapper,
+            final Object... parameters
+    ) {
+        final DataSource dataSource = Objects.requireNonNull(jdbcTemplate.getDataSource());
+        final Connection connection = DataSourceUtils.getConnection(dataSource);
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            final ResultSet resultSet = statement.executeQuery();
+            final PreparedStatement opened = statement;
+            return StreamSupport.stream(new ResultSetSpliterator<>(jdbcTemplate, sql, resultSet, rowMapper), false)
+                                .onClose(() -> {
+                                    JdbcUtils.closeResultSet(resultSet);
+                                    JdbcUtils.closeStatement(opened);
+                                    DataSourceUtils.releaseConnection(connection, dataSource);
+                                });
+        } catch (final SQLException e) {
+            JdbcUtils.closeStatement(statement);
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw Objects.requireNonNull(jdbcTemplate.getExceptionTranslator().translate("CursorStreams", sql, e));
+        }
+    }
+
+    public static <T, R> Stream<R> batched(final Stream<T> source, final int batchSize, final Function<List<T>, List<R>> loader) {
+        final Iterator<T> elements = source.iterator();
+        final Iterator<List<T>> batches = new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return elements.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!elements.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final List<T> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && elements.hasNext()) {
+                    batch.add(elements.next());
+                }
+                return batch;
+            }
+
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .flatMap(batch -> loader.apply(batch).stream())
+                            .onClose(source::close);
+    }
+
+
+    private static class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final String sql;
+        private final ResultSet resultSet;
+        private final RowMapper<T> rowMapper;
+        private int rowNum;
+
+        ResultSetSpliterator(final JdbcTemplate jdbcTemplate, final String sql, final ResultSet resultSet, final RowMapper<T> rowMapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.jdbcTemplate = jdbcTemplate;
+            this.sql = sql;
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            try {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                action.accept(rowMapper.mapRow(resultSet, rowNum++));
+                return true;
+            } catch (final SQLException e) {
+                throw Objects.requireNonNull(jdbcTemplate.getExceptionTranslator().translate("CursorStreams", sql, e));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.common;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+/**
+ * Canonical {@link Actor} and {@link Genre} instances of one unit of work. Inside a transaction the map is bound to
+ * it and dropped when it completes or is {@link #invalidate() invalidated} by a write, otherwise every
+ * {@link #current()} call starts a new one. Instances are shared by all movies hydrated in the scope, which is safe
+ * because actors and genres are immutable.
+ */
+public final class IdentityMap {
+
+    private final LongMap<Actor> actors = new LongMap<>();
+    private final LongMap<Genre> genres = new LongMap<>();
+
+
+    public static IdentityMap current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new IdentityMap();
+        }
+        final IdentityMap bound = (IdentityMap) TransactionSynchronizationManager.getResource(IdentityMap.class);
+        if (bound != null) {
+            return bound;
+        }
+        final IdentityMap identityMap = new IdentityMap();
+        TransactionSynchronizationManager.bindResource(IdentityMap.class, identityMap);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(IdentityMap.class);
+            }
+        });
+        return identityMap;
+    }
+
+    public static void invalidate() {
+        if (TransactionSynchronizationManager.hasResource(IdentityMap.class)) {
+            TransactionSynchronizationManager.unbindResource(IdentityMap.class);
+        }
+    }
+
+    public Actor actor(final long id) {
+        return actors.get(id);
+    }
+
+    public Genre genre(final int id) {
+        return genres.get(id);
+    }
+
+    public Actor canonical(final Actor actor) {
+        return actors.putIfAbsent(actor.getId(), actor);
+    }
+
+    public Genre canonical(final Genre genre) {
+        return genres.putIfAbsent(genre.getId(), genre);
+    }
+
+    public int size() {
+        return actors.size() + genres.size();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.common;
+
+
+/**
+ * Open addressing hash map keyed by primitive longs, so lookups neither box keys nor allocate entries.
+ * Null values are not supported, a null slot marks a free bucket.
+ */
+final class LongMap<V> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(final long key) {
+        for (int slot = slot(key, keys.length); values[slot] != null; slot = (slot + 1) & (keys.length - 1)) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V putIfAbsent(final long key, final V value) {
+        int slot = slot(key, keys.length);
+        for (; values[slot] != null; slot = (slot + 1) & (keys.length - 1)) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return value;
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i], keys.length);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & (keys.length - 1);
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(final long key, final int capacity) {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & (capacity - 1);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.genre;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+
+@Component
+@AllArgsConstructor
+class GenreBatchWriter {
+
+    private static final String MERGE_GENRE = "MERGE INTO GENRES (Name) KEY (Name) VALUES (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryProperties properties;
+
+
+    void mergeAll(final Collection<String> names) {
+        jdbcTemplate.batchUpdate(MERGE_GENRE, names, properties.getBatch().getSize(), (statement, name) -> statement.setString(1, name));
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.genre;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+
+/**
+ * In-process copy of the GENRES table, preloaded on first use. Genres written inside a transaction are only
+ * published once it commits, so a rolled back insert never leaks into the dictionary.
+ */
+public class GenreDictionary {
+
+    private final Map<Integer, Genre> byId = new ConcurrentHashMap<>();
+    private final Map<String, Genre> byName = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile boolean loaded;
+
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    void loadIfNeeded(final Supplier<Iterable<GenreEntity>> genres) {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    genres.get().forEach(genre -> put(genre.toDomain()));
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    Optional<Genre> findById(final Integer id) {
+        return record(byId.get(id));
+    }
+
+    Optional<Genre> findByName(final String name) {
+        return record(byName.get(name));
+    }
+
+    Genre putWhenCommitted(final Genre genre) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(genre);
+                }
+            });
+        } else {
+            put(genre);
+        }
+        return genre;
+    }
+
+    Genre put(final Genre genre) {
+        final Genre cached = copy(genre);
+        byId.put(cached.getId(), cached);
+        byName.put(cached.getName(), cached);
+        return genre;
+    }
+
+    private Optional<Genre> record(final Genre genre) {
+        (genre == null ? misses : hits).incrementAndGet();
+        return Optional.ofNullable(genre).map(GenreDictionary::copy);
+    }
+
+    private static Genre copy(final Genre genre) {
+        return new Genre(genre.getId(), genre.getName());
+    }
+
+}
@@ -3,15 +3,25 @@ package com.cafetamine.spring.data.jdbc.demo.repository.genre;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
 import com.cafetamine.spring.data.jdbc.demo.core.application.genre.IGenreRepository;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.Chunks;
 import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieGenreReference;
 
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 
 @Component
@@ -19,36 +29,92 @@ import java.util.stream.Collectors;
 public class GenreRepository implements IGenreRepository {
 
     private final JdbcGenreRepository genreRepository;
+    private final GenreBatchWriter batchWriter;
+    @Getter private final GenreDictionary dictionary = new GenreDictionary();
 
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Genre> findById(final Integer id) {
-        return genreRepository.findById(id).map(GenreEntity::toDomain);
+        return loadedDictionary().findById(id)
+                                 .or(() -> genreRepository.findById(id)
+                                                          .map(GenreEntity::toDomain)
+                                                          .map(dictionary::putWhenCommitted));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, Genre> findAllById(final Set<Integer> ids) {
+        final Map<Integer, Genre> genres = new HashMap<>();
+        final Set<Integer> missing = new HashSet<>();
+        ids.forEach(id -> loadedDictionary().findById(id).ifPresentOrElse(genre -> genres.put(id, genre), () -> missing.add(id)));
+        Chunks.of(missing)
+              .stream()
+              .flatMap(chunk -> StreamSupport.stream(genreRepository.findAllById(chunk).spliterator(), false))
+              .map(GenreEntity::toDomain)
+              .map(dictionary::putWhenCommitted)
+              .forEach(genre -> genres.put(genre.getId(), genre));
+        return genres;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Genre> findByName(final String name) {
-        return genreRepository.findByName(name).map(GenreEntity::toDomain);
+        return loadedDictionary().findByName(name)
+                                 .or(() -> genreRepository.findByName(name)
+                                                          .map(GenreEntity::toDomain)
+                                                          .map(dictionary::putWhenCommitted));
     }
 
     @Override
+    @Transactional
     public Genre create(final Genre genre) {
-        return findByName(genre.getName()).orElseGet(() -> genreRepository.save(GenreEntity.fromDomain(genre)).toDomain());
+        return createAll(Collections.singletonList(genre)).get(0);
     }
 
     @Override
+    @Transactional
     public List<Genre> createAll(final List<Genre> genres) {
+        final Map<String, Genre> resolved = new HashMap<>();
+        final Set<String> missing = new LinkedHashSet<>();
+        genres.forEach(genre -> loadedDictionary().findByName(genre.getName())
+                                                  .ifPresentOrElse(found -> resolved.put(found.getName(), found), () -> missing.add(genre.getName())));
+        findAllByName(missing).forEach(genre -> resolved.put(genre.getName(), genre));
+        missing.removeAll(resolved.keySet());
+        if (!missing.isEmpty()) {
+            batchWriter.mergeAll(missing);
+            findAllByName(missing).forEach(genre -> resolved.put(genre.getName(), genre));
+        }
         return genres.stream()
-                     .map(this::create)
+                     .map(genre -> Optional.ofNullable(resolved.get(genre.getName()))
+                     .orElseThrow(DataIntegrityException::new))
                      .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Genre> findAllByReference(final List<MovieGenreReference> references) {
+        final Map<Integer, Genre> genres = findAllById(references.stream()
+                                                                 .map(MovieGenreReference::getGenreId)
+                                                                 .collect(Collectors.toSet()));
         return references.stream()
-                         .map(reference -> findById(reference.getGenreId())
+                         .map(reference -> Optional.ofNullable(genres.get(reference.getGenreId()))
                          .orElseThrow(DataIntegrityException::new))
                          .collect(Collectors.toList());
     }
 
+    private List<Genre> findAllByName(final Set<String> names) {
+        return Chunks.of(names)
+                     .stream()
+                     .flatMap(chunk -> genreRepository.findAllByNameIn(chunk).stream())
+                     .map(GenreEntity::toDomain)
+                     .map(dictionary::putWhenCommitted)
+                     .collect(Collectors.toList());
+    }
+
+    private GenreDictionary loadedDictionary() {
+        dictionary.loadIfNeeded(genreRepository::findAll);
+        return dictionary;
+    }
+
 }
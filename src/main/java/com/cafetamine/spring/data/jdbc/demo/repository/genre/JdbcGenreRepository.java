@@ -3,6 +3,8 @@ package com.cafetamine.spring.data.jdbc.demo.repository.genre;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -11,4 +13,7 @@ public interface JdbcGenreRepository extends CrudRepository<GenreEntity, Integer
     @Query("SELECT * FROM GENRES WHERE Name = :name")
     Optional<GenreEntity> findByName(String name);
 
+    @Query("SELECT * FROM GENRES WHERE Name IN (:names)")
+    List<GenreEntity> findAllByNameIn(Collection<String> names);
+
 }
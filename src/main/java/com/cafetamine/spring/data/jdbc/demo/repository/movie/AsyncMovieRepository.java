@@ -0,0 +1,106 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.genre.IGenreRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IAsyncMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.Chunks;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * Non-blocking counterpart of {@link MovieRepository}. Movies are hydrated in batches of
+ * {@code repository.cursor.hydration-batch-size}; each batch resolves its actors and genres concurrently and
+ * batches run in parallel, all on the bounded {@code repositoryExecutor}. Every lookup runs in its own transaction.
+ */
+@Component
+public class AsyncMovieRepository implements IAsyncMovieRepository {
+
+    private final JdbcMovieRepository movieRepository;
+    private final IActorRepository actorRepository;
+    private final IGenreRepository genreRepository;
+    private final RepositoryProperties properties;
+    private final Executor executor;
+
+
+    public AsyncMovieRepository(
+            final JdbcMovieRepository movieRepository,
+            final IActorRepository actorRepository,
+            final IGenreRepository genreRepository,
+            final RepositoryProperties properties,
+            @Qualifier("repositoryExecutor") final Executor executor
+    ) {
+        this.movieRepository = movieRepository;
+        this.actorRepository = actorRepository;
+        this.genreRepository = genreRepository;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+
+    @Override
+    public CompletableFuture<List<Movie>> findAll() {
+        return async(() -> toList(movieRepository.findAll())).thenCompose(this::hydrate);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Movie>> findById(final Long id) {
+        return async(() -> movieRepository.findById(id)).thenCompose(aggregate -> aggregate
+                .map(movie -> hydrateBatch(List.of(movie)).thenApply(movies -> Optional.of(movies.get(0))))
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty())));
+    }
+
+    @Override
+    public CompletableFuture<List<Movie>> findAllByGenre(final Genre genre) {
+        return async(() -> toList(movieRepository.findAllByGenreId(genre.getId()))).thenCompose(this::hydrate);
+    }
+
+    @Override
+    public CompletableFuture<List<Movie>> findAllByActor(final Actor actor) {
+        return async(() -> toList(movieRepository.findAllByActorId(actor.getId()))).thenCompose(this::hydrate);
+    }
+
+    private CompletableFuture<List<Movie>> hydrate(final List<MovieAggregate> aggregates) {
+        final List<CompletableFuture<List<Movie>>> batches = Chunks.of(aggregates, properties.getCursor().getHydrationBatchSize())
+                                                                   .stream()
+                                                                   .map(this::hydrateBatch)
+                                                                   .collect(Collectors.toList());
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0]))
+                                .thenApply(done -> batches.stream()
+                                                          .flatMap(batch -> batch.join().stream())
+                                                          .collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<List<Movie>> hydrateBatch(final List<MovieAggregate> aggregates) {
+        final CompletableFuture<Map<Long, Actor>> actors = async(() -> actorRepository.findAllById(MovieRepository.actorIds(aggregates)));
+        final CompletableFuture<Map<Integer, Genre>> genres = async(() -> genreRepository.findAllById(MovieRepository.genreIds(aggregates)));
+        return actors.thenCombine(genres, (actorsById, genresById) -> MovieRepository.assemble(aggregates, actorsById, genresById));
+    }
+
+    private <T> CompletableFuture<T> async(final Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, executor);
+    }
+
+    private static List<MovieAggregate> toList(final Iterable<MovieAggregate> aggregates) {
+        return aggregates instanceof Collection
+                ? new ArrayList<>((Collection<MovieAggregate>) aggregates)
+                : StreamSupport.stream(aggregates.spliterator(), false).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+
+@RequiredArgsConstructor
+final class BatchLoader<K, V> {
+
+    private final Set<K> ids;
+    private final Function<Set<K>, Map<K, V>> loader;
+    private Map<K, V> loaded;
+
+
+    synchronized Map<K, V> get() {
+        if (loaded == null) {
+            loaded = loader.apply(ids);
+        }
+        return loaded;
+    }
+
+}
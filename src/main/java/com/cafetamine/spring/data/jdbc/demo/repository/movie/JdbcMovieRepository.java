@@ -1,19 +1,46 @@
 package com.cafetamine.spring.data.jdbc.demo.repository.movie;
 
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.MovieSummary;
+
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 
 
 @Repository
 public interface JdbcMovieRepository extends CrudRepository<MovieAggregate, Long> {
 
-    @Query("SELECT * FROM MOVIES JOIN MOVIE_GENRES ON MOVIES.Id = MOVIE_GENRES.MovieId")
+    @Query("SELECT MOVIES.* FROM MOVIE_GENRES JOIN MOVIES ON MOVIES.Id = MOVIE_GENRES.MovieId WHERE MOVIE_GENRES.GenreId = :genreId")
     Set<MovieAggregate> findAllByGenreId(final Integer genreId);
 
-    @Query("SELECT * FROM MOVIES JOIN MOVIE_ACTORS ON MOVIES.Id = MOVIE_ACTORS.MovieId")
+    @Query("SELECT MOVIES.* FROM MOVIE_ACTORS JOIN MOVIES ON MOVIES.Id = MOVIE_ACTORS.MovieId WHERE MOVIE_ACTORS.ActorId = :actorId")
     Set<MovieAggregate> findAllByActorId(final Long actorId);
 
+    @Query("SELECT Id FROM MOVIES WHERE Id > :lastId ORDER BY Id LIMIT :limit")
+    List<Long> findIdsAfter(final Long lastId, final int limit);
+
+    @Query("SELECT Id FROM MOVIES ORDER BY ReleaseDate, Id LIMIT :limit")
+    List<Long> findIdsByReleaseDate(final int limit);
+
+    @Query("SELECT Id FROM MOVIES " +
+           "WHERE ReleaseDate >= :releaseDate AND (ReleaseDate > :releaseDate OR Id > :lastId) " +
+           "ORDER BY ReleaseDate, Id LIMIT :limit")
+    List<Long> findIdsByReleaseDateAfter(final LocalDate releaseDate, final Long lastId, final int limit);
+
+    @Query(value = "SELECT Id, Title, Duration, ReleaseDate FROM MOVIES ORDER BY Id", rowMapperClass = MovieSummaryRowMapper.class)
+    List<MovieSummary> findAllSummaries();
+
+    @Query(value = "SELECT Id, Title, Duration, ReleaseDate FROM MOVIES " +
+                   "WHERE Id IN (SELECT MovieId FROM MOVIE_GENRES WHERE GenreId = :genreId) ORDER BY Id",
+           rowMapperClass = MovieSummaryRowMapper.class)
+    List<MovieSummary> findSummariesByGenreId(final Integer genreId);
+
+    @Query(value = "SELECT Id, Title, Duration, ReleaseDate FROM MOVIES WHERE Id > :lastId ORDER BY Id LIMIT :limit",
+           rowMapperClass = MovieSummaryRowMapper.class)
+    List<MovieSummary> findSummariesAfter(final Long lastId, final int limit);
+
 }
@@ -0,0 +1,47 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Read-only cast of a {@link com.cafetamine.spring.data.jdbc.demo.core.application.movie.FetchMode#LAZY lazy} movie.
+ * Roles and size are answered from the references, actors are resolved on first access.
+ */
+@RequiredArgsConstructor
+final class LazyCast extends AbstractMap<String, Actor> {
+
+    private final Map<String, MovieActorReference> references;
+    private final BatchLoader<Long, Actor> actors;
+    private Map<String, Actor> resolved;
+
+
+    @Override
+    public int size() {
+        return references.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object role) {
+        return references.containsKey(role);
+    }
+
+    @Override
+    public Set<Entry<String, Actor>> entrySet() {
+        return resolved().entrySet();
+    }
+
+    private synchronized Map<String, Actor> resolved() {
+        if (resolved == null) {
+            resolved = Collections.unmodifiableMap(MovieRepository.resolveActors(references, actors.get()));
+        }
+        return resolved;
+    }
+
+}
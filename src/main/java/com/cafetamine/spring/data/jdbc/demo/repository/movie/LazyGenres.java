@@ -0,0 +1,40 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.AbstractList;
+import java.util.List;
+
+
+/**
+ * Read-only genres of a {@link com.cafetamine.spring.data.jdbc.demo.core.application.movie.FetchMode#LAZY lazy} movie,
+ * ordered by significance. Size is answered from the references, genres are resolved on first access.
+ */
+@RequiredArgsConstructor
+final class LazyGenres extends AbstractList<Genre> {
+
+    private final List<MovieGenreReference> references;
+    private final BatchLoader<Integer, Genre> genres;
+    private List<Genre> resolved;
+
+
+    @Override
+    public int size() {
+        return references.size();
+    }
+
+    @Override
+    public Genre get(final int index) {
+        return resolved().get(index);
+    }
+
+    private synchronized List<Genre> resolved() {
+        if (resolved == null) {
+            resolved = MovieRepository.resolveGenres(references, genres.get());
+        }
+        return resolved;
+    }
+
+}
@@ -0,0 +1,219 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorChangedEvent;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+/**
+ * Bounded LRU cache of hydrated movies, weighed by an estimate of their heap footprint. A reverse index from actor
+ * id to cached movie ids lets an actor change evict every movie the actor appears in. Movies loaded in a transaction
+ * are published once it commits, and only if no invalidation happened since the load started, so a read racing an
+ * actor update can never cache the stale aggregate. Callers always get their own copy.
+ */
+@Component
+public class MovieCache implements MeterBinder {
+
+    private static final long ENTRY_OVERHEAD = 128;
+    private static final long ACTOR_OVERHEAD = 160;
+    private static final long GENRE_OVERHEAD = 64;
+
+    private final RepositoryProperties.Cache properties;
+    private final LinkedHashMap<Long, Entry> movies = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Set<Long>> moviesByActor = new HashMap<>();
+    private long weight;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long sizeEvictions;
+    private long actorEvictions;
+
+
+    public MovieCache(final RepositoryProperties properties) {
+        this.properties = properties.getCache();
+    }
+
+
+    public synchronized Optional<Movie> get(final Long id) {
+        final Entry entry = properties.isEnabled() ? movies.get(id) : null;
+        if (entry == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(copy(entry.movie));
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public Movie putWhenCommitted(final Movie movie, final long loadedAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(movie, loadedAt);
+                }
+            });
+        } else {
+            put(movie, loadedAt);
+        }
+        return movie;
+    }
+
+    @EventListener
+    public void onActorChanged(final ActorChangedEvent event) {
+        evictActor(event.getActorId());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    evictActor(event.getActorId());
+                }
+            });
+        }
+    }
+
+    public synchronized int size() {
+        return movies.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getSizeEvictions() {
+        return sizeEvictions;
+    }
+
+    public synchronized long getActorEvictions() {
+        return actorEvictions;
+    }
+
+    public synchronized double getHitRatio() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    synchronized void put(final Movie movie, final long loadedAt) {
+        if (!properties.isEnabled() || movie.getId() == null || loadedAt != generation) {
+            return;
+        }
+        remove(movie.getId());
+        final Entry entry = new Entry(copy(movie), weigh(movie));
+        movies.put(movie.getId(), entry);
+        weight += entry.weight;
+        entry.actorIds.forEach(actorId -> moviesByActor.computeIfAbsent(actorId, id -> new HashSet<>()).add(movie.getId()));
+        while (weight > properties.getMaxSize().toBytes()) {
+            remove(movies.keySet().iterator().next());
+            sizeEvictions++;
+        }
+    }
+
+    synchronized void evictActor(final Long actorId) {
+        generation++;
+        final Set<Long> ids = moviesByActor.get(actorId);
+        if (ids != null) {
+            actorEvictions += ids.size();
+            new ArrayList<>(ids).forEach(this::remove);
+        }
+    }
+
+    private void remove(final Long id) {
+        final Entry entry = movies.remove(id);
+        if (entry != null) {
+            weight -= entry.weight;
+            entry.actorIds.forEach(actorId -> {
+                final Set<Long> ids = moviesByActor.get(actorId);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    moviesByActor.remove(actorId);
+                }
+            });
+        }
+    }
+
+    synchronized Set<Long> moviesOf(final Long actorId) {
+        return Set.copyOf(moviesByActor.getOrDefault(actorId, Set.of()));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("repository.cache.gets", this, MovieCache::getHits).tags("cache", "movies", "result", "hit").register(registry);
+        FunctionCounter.builder("repository.cache.gets", this, MovieCache::getMisses).tags("cache", "movies", "result", "miss").register(registry);
+        FunctionCounter.builder("repository.cache.evictions", this, MovieCache::getSizeEvictions).tags("cache", "movies", "cause", "size").register(registry);
+        FunctionCounter.builder("repository.cache.evictions", this, MovieCache::getActorEvictions).tags("cache", "movies", "cause", "actor").register(registry);
+        Gauge.builder("repository.cache.size", this, MovieCache::size).tags("cache", "movies").register(registry);
+        Gauge.builder("repository.cache.weight", this, MovieCache::getWeight).tags("cache", "movies").baseUnit("bytes").register(registry);
+        Gauge.builder("repository.cache.hit.ratio", this, MovieCache::getHitRatio).tags("cache", "movies").register(registry);
+    }
+
+    static long weigh(final Movie movie) {
+        return ENTRY_OVERHEAD
+               + chars(movie.getTitle())
+               + movie.getActors().entrySet().stream().mapToLong(role -> ACTOR_OVERHEAD
+                       + chars(role.getKey())
+                       + chars(role.getValue().getName())
+                       + chars(role.getValue().getSurname())).sum()
+               + movie.getGenres().stream().mapToLong(genre -> GENRE_OVERHEAD + chars(genre.getName())).sum();
+    }
+
+    private static long chars(final String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    private static Movie copy(final Movie movie) {
+        return new Movie(
+                movie.getId(),
+                movie.getTitle(),
+                movie.getDuration(),
+                movie.getReleaseDate(),
+                new HashMap<>(movie.getActors()),
+                new ArrayList<>(movie.getGenres())
+        );
+    }
+
+
+    private static class Entry {
+
+        private final Movie movie;
+        private final long weight;
+        private final Set<Long> actorIds;
+
+        Entry(final Movie movie, final long weight) {
+            this.movie = movie;
+            this.weight = weight;
+            this.actorIds = movie.getActors().values().stream().map(Actor::getId).collect(Collectors.toSet());
+        }
+
+    }
+
+}
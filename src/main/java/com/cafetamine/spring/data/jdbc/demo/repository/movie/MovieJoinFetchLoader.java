@@ -0,0 +1,237 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.Chunks;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.CursorStreams;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.IdentityMap;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Loads fully hydrated {@link Movie} aggregates with three statements per batch of movies: one for MOVIES, one
+ * joining MOVIE_ACTORS to ACTORS and one joining MOVIE_GENRES to GENRES, all restricted to the same movie ids. The
+ * child queries are ordered by movie id and merged into the movies by the extractor, so each credit and each genre
+ * link is read exactly once instead of once per combination of the two. Actors and genres are materialised once
+ * per {@link IdentityMap} scope and shared by every movie that references them.
+ */
+@Component
+@AllArgsConstructor
+public class MovieJoinFetchLoader {
+
+    private static final String SELECT_MOVIES =
+            "SELECT Id, Title, Duration, ReleaseDate FROM MOVIES %s ORDER BY Id";
+    private static final String SELECT_CAST =
+            "SELECT MOVIE_ACTORS.MovieId, MOVIE_ACTORS.Role, MOVIE_ACTORS.ActorId, " +
+            "       ACTORS.Id AS ActorRefId, ACTORS.Name AS ActorName, ACTORS.Surname AS ActorSurname, " +
+            "       ACTORS.Birthdate AS ActorBirthdate, ACTORS.Deathdate AS ActorDeathdate, ACTORS.Gender AS ActorGender " +
+            "FROM MOVIE_ACTORS " +
+            "LEFT JOIN ACTORS ON ACTORS.Id = MOVIE_ACTORS.ActorId " +
+            "%s ORDER BY MOVIE_ACTORS.MovieId";
+    private static final String SELECT_GENRES =
+            "SELECT MOVIE_GENRES.MovieId, MOVIE_GENRES.Significance, MOVIE_GENRES.GenreId, " +
+            "       GENRES.Id AS GenreRefId, GENRES.Name AS GenreName " +
+            "FROM MOVIE_GENRES " +
+            "LEFT JOIN GENRES ON GENRES.Id = MOVIE_GENRES.GenreId " +
+            "%s ORDER BY MOVIE_GENRES.MovieId, MOVIE_GENRES.Significance";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RepositoryProperties properties;
+
+
+    public List<Movie> findAll() {
+        return query("", "", Collections.emptyMap(), IdentityMap.current());
+    }
+
+    public Optional<Movie> findById(final Long id) {
+        return query("WHERE Id = :id", "WHERE MovieId = :id", Map.of("id", id), IdentityMap.current()).stream().findFirst();
+    }
+
+    public List<Movie> findAllById(final Collection<Long> ids) {
+        final IdentityMap identityMap = IdentityMap.current();
+        final Map<Long, Movie> movies = Chunks.of(new LinkedHashSet<>(ids))
+                .stream()
+                .flatMap(chunk -> query("WHERE Id IN (:ids)", "WHERE MovieId IN (:ids)", Map.of("ids", chunk), identityMap).stream())
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        return ids.stream()
+                  .map(movies::get)
+                  .filter(Objects::nonNull)
+                  .collect(Collectors.toList());
+    }
+
+    public List<Movie> findAllByGenreId(final Integer genreId) {
+        return query(
+                "WHERE Id IN (SELECT MovieId FROM MOVIE_GENRES WHERE GenreId = :genreId)",
+                "WHERE MovieId IN (SELECT MovieId FROM MOVIE_GENRES WHERE GenreId = :genreId)",
+                Map.of("genreId", genreId),
+                IdentityMap.current()
+        );
+    }
+
+    public List<Movie> findAllByActorId(final Long actorId) {
+        return query(
+                "WHERE Id IN (SELECT MovieId FROM MOVIE_ACTORS WHERE ActorId = :actorId)",
+                "WHERE MovieId IN (SELECT MovieId FROM MOVIE_ACTORS WHERE ActorId = :actorId)",
+                Map.of("actorId", actorId),
+                IdentityMap.current()
+        );
+    }
+
+    public Stream<Movie> streamAll() {
+        return streamAllById("SELECT Id FROM MOVIES ORDER BY Id");
+    }
+
+    public Stream<Movie> streamAllByGenreId(final Integer genreId) {
+        return streamAllById("SELECT MovieId AS Id FROM MOVIE_GENRES WHERE GenreId = ? ORDER BY MovieId", genreId);
+    }
+
+    private Stream<Movie> streamAllById(final String idQuery, final Object... parameters) {
+        return CursorStreams.batched(
+                CursorStreams.query(
+                        jdbcTemplate.getJdbcTemplate(),
+                        idQuery,
+                        properties.getCursor().getFetchSize(),
+                        (rs, rowNum) -> rs.getLong("Id"),
+                        parameters
+                ),
+                properties.getCursor().getHydrationBatchSize(),
+                this::findAllById
+        );
+    }
+
+
+    private List<Movie> query(
+            final String movieFilter,
+            final String childFilter,
+            final Map<String, ?> parameters,
+            final IdentityMap identityMap
+    ) {
+        final Map<Long, MovieRows> movies = new LinkedHashMap<>();
+        jdbcTemplate.query(String.format(SELECT_MOVIES, movieFilter), parameters, (RowCallbackHandler) rs ->
+                movies.put(rs.getLong("Id"), new MovieRows(rs, identityMap))
+        );
+        if (movies.isEmpty()) {
+            return Collections.emptyList();
+        }
+        jdbcTemplate.query(String.format(SELECT_CAST, childFilter), parameters, new ChildExtractor(movies, MovieRows::addActor));
+        jdbcTemplate.query(String.format(SELECT_GENRES, childFilter), parameters, new ChildExtractor(movies, MovieRows::addGenre));
+        return movies.values().stream().map(MovieRows::toDomain).collect(Collectors.toList());
+    }
+
+
+    @FunctionalInterface
+    private interface ChildRow {
+
+        void add(MovieRows movie, ResultSet rs) throws SQLException;
+
+    }
+
+    @AllArgsConstructor
+    private static class ChildExtractor implements ResultSetExtractor<Void> {
+
+        private final Map<Long, MovieRows> movies;
+        private final ChildRow row;
+
+        @Override
+        public Void extractData(final ResultSet rs) throws SQLException {
+            MovieRows current = null;
+            while (rs.next()) {
+                final long movieId = rs.getLong("MovieId");
+                if (current == null || current.id != movieId) {
+                    current = movies.get(movieId);
+                }
+                if (current != null) {
+                    row.add(current, rs);
+                }
+            }
+            return null;
+        }
+
+    }
+
+    private static class MovieRows {
+
+        private final long id;
+        private final String title;
+        private final long durationSeconds;
+        private final LocalDate releaseDate;
+        private final Map<String, Actor> actors = new HashMap<>();
+        private final List<Genre> genres = new ArrayList<>();
+        private final IdentityMap identityMap;
+
+        MovieRows(final ResultSet rs, final IdentityMap identityMap) throws SQLException {
+            this.identityMap = identityMap;
+            id = rs.getLong("Id");
+            title = rs.getString("Title");
+            durationSeconds = rs.getLong("Duration");
+            releaseDate = rs.getObject("ReleaseDate", LocalDate.class);
+        }
+
+        void addActor(final ResultSet rs) throws SQLException {
+            if (rs.getObject("ActorRefId") == null) {
+                throw new DataIntegrityException(String.format("Movie %d references missing actor %d", id, rs.getLong("ActorId")));
+            }
+            actors.put(rs.getString("Role"), actor(rs));
+        }
+
+        void addGenre(final ResultSet rs) throws SQLException {
+            if (rs.getObject("GenreRefId") == null) {
+                throw new DataIntegrityException(String.format("Movie %d references missing genre %d", id, rs.getInt("GenreId")));
+            }
+            genres.add(genre(rs));
+        }
+
+        private Actor actor(final ResultSet rs) throws SQLException {
+            final long actorId = rs.getLong("ActorRefId");
+            final Actor actor = identityMap.actor(actorId);
+            return actor != null ? actor : identityMap.canonical(new Actor(
+                    actorId,
+                    rs.getString("ActorName"),
+                    rs.getString("ActorSurname"),
+                    rs.getObject("ActorBirthdate", LocalDate.class),
+                    rs.getObject("ActorDeathdate", LocalDate.class),
+                    Gender.valueOf(rs.getString("ActorGender"))
+            ));
+        }
+
+        private Genre genre(final ResultSet rs) throws SQLException {
+            final int genreId = rs.getInt("GenreRefId");
+            final Genre genre = identityMap.genre(genreId);
+            return genre != null ? genre : identityMap.canonical(new Genre(genreId, rs.getString("GenreName")));
+        }
+
+        Movie toDomain() {
+            return new Movie(id, title, Duration.ofSeconds(durationSeconds), releaseDate, actors, genres);
+        }
+
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorChangedEvent;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.Chunks;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.IdentityMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+
+/**
+ * Denormalised copy of every movie in MOVIE_READ_MODEL, one row per movie with the genres and the cast serialised
+ * as compact JSON arrays. Rows are written in the transaction that changes the movie or one of its actors, so a
+ * movie can be read with a single primary key lookup. Rows missing after a bulk load are backfilled on startup or
+ * by calling {@link #backfill()}. A read that misses a row falls back to {@link MovieJoinFetchLoader} and rewrites
+ * the row in a new transaction on the primary once the reading transaction has committed.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class MovieReadModel {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String SELECT_MOVIE = "SELECT MovieId, Title, Duration, ReleaseDate, Genres, Actors FROM MOVIE_READ_MODEL WHERE MovieId = ?";
+    private static final String SELECT_MOVIES =
+            "SELECT MOVIES.Id AS MovieId, MOVIE_READ_MODEL.Title, MOVIE_READ_MODEL.Duration, MOVIE_READ_MODEL.ReleaseDate, " +
+            "       MOVIE_READ_MODEL.Genres, MOVIE_READ_MODEL.Actors " +
+            "FROM MOVIES LEFT JOIN MOVIE_READ_MODEL ON MOVIE_READ_MODEL.MovieId = MOVIES.Id " +
+            "ORDER BY MOVIES.Id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MovieJoinFetchLoader movieLoader;
+    private final RepositoryProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+
+    public Optional<Movie> findById(final Long id) {
+        final Optional<Movie> movie = jdbcTemplate.query(SELECT_MOVIE, rowMapper(IdentityMap.current()), id).stream().findFirst();
+        if (movie.isPresent()) {
+            return movie;
+        }
+        return movieLoader.findById(id).map(missing -> {
+            repair(Collections.singletonList(id));
+            return missing;
+        });
+    }
+
+    public List<Movie> findAll() {
+        final RowMapper<Movie> rowMapper = rowMapper(IdentityMap.current());
+        final Map<Long, Movie> movies = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_MOVIES, (RowCallbackHandler) rs ->
+                movies.put(rs.getLong("MovieId"), rs.getString("Title") == null ? null : rowMapper.mapRow(rs, 0))
+        );
+        final List<Long> missing = movies.entrySet()
+                                         .stream()
+                                         .filter(movie -> movie.getValue() == null)
+                                         .map(Map.Entry::getKey)
+                                         .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            movieLoader.findAllById(missing).forEach(movie -> movies.put(movie.getId(), movie));
+            repair(missing);
+        }
+        return movies.values().stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    public void save(final Collection<Movie> movies) {
+        final List<Object[]> rows = new ArrayList<>(movies.size());
+        movies.forEach(movie -> rows.add(new Object[] {
+                movie.getId(),
+                movie.getTitle(),
+                movie.getDuration().toSeconds(),
+                Date.valueOf(movie.getReleaseDate()),
+                writeGenres(movie.getGenres()),
+                writeActors(movie.getActors())
+        }));
+        Chunks.of(rows, properties.getBatch().getSize()).forEach(batch -> jdbcTemplate.batchUpdate(
+                "MERGE INTO MOVIE_READ_MODEL (MovieId, Title, Duration, ReleaseDate, Genres, Actors) KEY (MovieId) VALUES (?, ?, ?, ?, ?, ?)",
+                batch
+        ));
+    }
+
+    public void refresh(final Collection<Long> movieIds) {
+        save(movieLoader.findAllById(movieIds));
+    }
+
+    public int backfill() {
+        final List<Long> missing = jdbcTemplate.queryForList(
+                "SELECT Id FROM MOVIES WHERE Id NOT IN (SELECT MovieId FROM MOVIE_READ_MODEL) ORDER BY Id",
+                Long.class
+        );
+        Chunks.of(missing, properties.getCursor().getHydrationBatchSize()).forEach(this::refresh);
+        if (!missing.isEmpty()) {
+            log.info("Backfilled {} movies into the read model", missing.size());
+        }
+        return missing.size();
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onStartup() {
+        backfill();
+    }
+
+    @EventListener
+    public void onActorChanged(final ActorChangedEvent event) {
+        refresh(jdbcTemplate.queryForList("SELECT MovieId FROM MOVIE_ACTORS WHERE ActorId = ?", Long.class, event.getActorId()));
+    }
+
+    private void repair(final List<Long> movieIds) {
+        log.warn("Read model is missing {} movies, rewriting them", movieIds.size());
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transaction.executeWithoutResult(status -> refresh(movieIds));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                transaction.executeWithoutResult(status -> refresh(movieIds));
+            }
+        });
+    }
+
+    private static RowMapper<Movie> rowMapper(final IdentityMap identityMap) {
+        return (rs, rowNum) -> new Movie(
+                rs.getLong("MovieId"),
+                rs.getString("Title"),
+                Duration.ofSeconds(rs.getLong("Duration")),
+                rs.getObject("ReleaseDate", LocalDate.class),
+                readActors(rs.getString("Actors"), identityMap),
+                readGenres(rs.getString("Genres"), identityMap)
+        );
+    }
+
+    private static String writeGenres(final List<Genre> genres) {
+        final List<Object[]> rows = new ArrayList<>(genres.size());
+        genres.forEach(genre -> rows.add(new Object[] {genre.getId(), genre.getName()}));
+        return write(rows);
+    }
+
+    private static String writeActors(final Map<String, Actor> actors) {
+        final List<Object[]> rows = new ArrayList<>(actors.size());
+        actors.forEach((role, actor) -> rows.add(new Object[] {
+                role,
+                actor.getId(),
+                actor.getName(),
+                actor.getSurname(),
+                actor.getBirthdate().toString(),
+                actor.getDeathdate() == null ? null : actor.getDeathdate().toString(),
+                actor.getGender().name()
+        }));
+        return write(rows);
+    }
+
+    private static List<Genre> readGenres(final String json, final IdentityMap identityMap) {
+        final List<Genre> genres = new ArrayList<>();
+        read(json).forEach(row -> {
+            final Genre genre = identityMap.genre(row.get(0).intValue());
+            genres.add(genre != null ? genre : identityMap.canonical(new Genre(row.get(0).intValue(), row.get(1).textValue())));
+        });
+        return genres;
+    }
+
+    private static Map<String, Actor> readActors(final String json, final IdentityMap identityMap) {
+        final Map<String, Actor> actors = new HashMap<>();
+        read(json).forEach(row -> {
+            final Actor actor = identityMap.actor(row.get(1).longValue());
+            actors.put(row.get(0).textValue(), actor != null ? actor : identityMap.canonical(new Actor(
+                    row.get(1).longValue(),
+                    row.get(2).textValue(),
+                    row.get(3).textValue(),
+                    LocalDate.parse(row.get(4).textValue()),
+                    row.get(5).isNull() ? null : LocalDate.parse(row.get(5).textValue()),
+                    Gender.valueOf(row.get(6).textValue())
+            )));
+        });
+        return actors;
+    }
+
+    private static String write(final List<Object[]> rows) {
+        try {
+            return JSON.writeValueAsString(rows);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise read model row.", e);
+        }
+    }
+
+    private static JsonNode read(final String json) {
+        try {
+            return JSON.readTree(json);
+        } catch (final JsonProcessingException e) {
+            throw new DataIntegrityException(String.format("Malformed read model column: %s", e.getOriginalMessage()));
+        }
+    }
+
+}
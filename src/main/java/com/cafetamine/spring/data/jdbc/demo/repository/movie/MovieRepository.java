@@ -1,21 +1,43 @@
 package com.cafetamine.spring.data.jdbc.demo.repository.movie;
 
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorNaturalKey;
 import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
 import com.cafetamine.spring.data.jdbc.demo.core.application.genre.IGenreRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.FetchMode;
 import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.MovieSummary;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.page.KeysetPage;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.ContinuationTokens;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.IdentityMap;
 
 import lombok.AllArgsConstructor;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 
@@ -26,48 +48,240 @@ public class MovieRepository implements IMovieRepository {
     private final JdbcMovieRepository movieRepository;
     private final IActorRepository actorRepository;
     private final IGenreRepository genreRepository;
+    private final MovieJoinFetchLoader movieLoader;
+    private final MovieCache movieCache;
+    private final MovieReadModel readModel;
+    private final MovieSearchRepository searchRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final RepositoryProperties properties;
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<Movie> findAll() {
-        return StreamSupport.stream(movieRepository.findAll().spliterator(), false)
-                            .map(this::aggregateMovie)
-                            .collect(Collectors.toList());
+        return findAll(FetchMode.EAGER);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Movie> findAll(final FetchMode fetch) {
+        if (fetch == FetchMode.READ_MODEL) {
+            return readModel.findAll();
+        }
+        if (fetch == FetchMode.EAGER) {
+            return movieLoader.findAll();
+        }
+        return lazyMovies(StreamSupport.stream(movieRepository.findAll().spliterator(), false).collect(Collectors.toList()));
+    }
+
+    @Override
+    public Stream<Movie> streamAll() {
+        return movieLoader.streamAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Movie> findPageAfter(final String continuation, final int limit) {
+        Assert.isTrue(limit > 0, "Limit must be positive.");
+        final Long lastId = continuation == null
+                ? 0L
+                : ContinuationTokens.decode(continuation, 1, keys -> Long.valueOf(keys.get(0)));
+        return toPage(
+                movieRepository.findIdsAfter(lastId, limit + 1),
+                limit,
+                movie -> ContinuationTokens.encode(movie.getId())
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Movie> findPageByReleaseDateAfter(final String continuation, final int limit) {
+        Assert.isTrue(limit > 0, "Limit must be positive.");
+        if (continuation == null) {
+            return toPage(movieRepository.findIdsByReleaseDate(limit + 1), limit, MovieRepository::releaseDateContinuation);
+        }
+        final Map.Entry<LocalDate, Long> last = ContinuationTokens.decode(
+                continuation,
+                2,
+                keys -> Map.entry(LocalDate.parse(keys.get(0)), Long.valueOf(keys.get(1)))
+        );
+        return toPage(
+                movieRepository.findIdsByReleaseDateAfter(last.getKey(), last.getValue(), limit + 1),
+                limit,
+                MovieRepository::releaseDateContinuation
+        );
+    }
+
+    @Override
+    @Transactional
     public Movie create(final Movie movie) {
-        return aggregateMovie(movieRepository.save(MovieAggregate.fromDomain(prepareMovieAggregate(movie))));
+        final long generation = movieCache.generation();
+        final Movie created = aggregateMovie(movieRepository.save(MovieAggregate.fromDomain(prepareMovieAggregate(movie))));
+        readModel.save(Collections.singletonList(created));
+        searchRepository.index(Collections.singletonList(created));
+        return movieCache.putWhenCommitted(created, generation);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Movie> findById(final Long id) {
-        return movieRepository.findById(id).map(this::aggregateMovie);
+        return findById(id, FetchMode.EAGER);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<Movie> findById(final Long id, final FetchMode fetch) {
+        if (fetch == FetchMode.READ_MODEL) {
+            return readModel.findById(id);
+        }
+        final Optional<Movie> cached = movieCache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        if (fetch == FetchMode.LAZY) {
+            return movieRepository.findById(id).map(aggregate -> lazyMovies(Collections.singletonList(aggregate)).get(0));
+        }
+        if (properties.getReplica().getUrl() == null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loadIntoCache(id);
+        }
+        final TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return primary.execute(status -> loadIntoCache(id));
+    }
+
+    private Optional<Movie> loadIntoCache(final Long id) {
+        final long generation = movieCache.generation();
+        return movieLoader.findById(id).map(movie -> movieCache.putWhenCommitted(movie, generation));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Movie> findAllByGenre(final Genre genre) {
-        return movieRepository.findAllByGenreId(genre.getId())
-                              .stream()
-                              .map(this::aggregateMovie)
-                              .collect(Collectors.toList());
+        return movieLoader.findAllByGenreId(genre.getId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Movie> findAllByActor(final Actor actor) {
-        return movieRepository.findAllByActorId(actor.getId())
-                              .stream()
-                              .map(this::aggregateMovie)
-                              .collect(Collectors.toList());
+        return movieLoader.findAllByActorId(actor.getId());
     }
 
-    private Movie aggregateMovie(final MovieAggregate aggregate) {
-        return aggregate.toDomain(
-                actorRepository.findAllByReference(aggregate.getActors()),
-                genreRepository.findAllByReference(aggregate.getGenres())
+    @Override
+    @Transactional(readOnly = true)
+    public List<MovieSummary> findAllSummaries() {
+        return movieRepository.findAllSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MovieSummary> findSummariesByGenre(final Genre genre) {
+        return movieRepository.findSummariesByGenreId(genre.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<MovieSummary> findSummaryPageAfter(final String continuation, final int limit) {
+        Assert.isTrue(limit > 0, "Limit must be positive.");
+        final Long lastId = continuation == null
+                ? 0L
+                : ContinuationTokens.decode(continuation, 1, keys -> Long.valueOf(keys.get(0)));
+        final List<MovieSummary> summaries = movieRepository.findSummariesAfter(lastId, limit + 1);
+        return summaries.size() > limit
+                ? new KeysetPage<>(summaries.subList(0, limit), ContinuationTokens.encode(summaries.get(limit - 1).getId()))
+                : new KeysetPage<>(summaries, null);
+    }
+
+    private KeysetPage<Movie> toPage(final List<Long> ids, final int limit, final Function<Movie, String> continuation) {
+        final List<Movie> movies = movieLoader.findAllById(ids.subList(0, Math.min(limit, ids.size())));
+        return new KeysetPage<>(
+                movies,
+                ids.size() > limit && !movies.isEmpty() ? continuation.apply(movies.get(movies.size() - 1)) : null
         );
     }
 
+    private static String releaseDateContinuation(final Movie movie) {
+        return ContinuationTokens.encode(movie.getReleaseDate(), movie.getId());
+    }
+
+    private Movie aggregateMovie(final MovieAggregate aggregate) {
+        return aggregateMovies(Collections.singletonList(aggregate)).get(0);
+    }
+
+    private List<Movie> aggregateMovies(final Collection<MovieAggregate> aggregates) {
+        final IdentityMap identityMap = IdentityMap.current();
+        return assemble(aggregates, resolveActors(actorIds(aggregates), identityMap), resolveGenres(genreIds(aggregates), identityMap));
+    }
+
+    private List<Movie> lazyMovies(final Collection<MovieAggregate> aggregates) {
+        final BatchLoader<Long, Actor> actors = new BatchLoader<>(actorIds(aggregates), ids -> resolveActors(ids, IdentityMap.current()));
+        final BatchLoader<Integer, Genre> genres = new BatchLoader<>(genreIds(aggregates), ids -> resolveGenres(ids, IdentityMap.current()));
+        return aggregates.stream()
+                         .map(aggregate -> aggregate.toDomain(
+                                 new LazyCast(aggregate.getActors(), actors),
+                                 new LazyGenres(aggregate.getGenres(), genres)
+                         ))
+                         .collect(Collectors.toList());
+    }
+
+    private Map<Long, Actor> resolveActors(final Set<Long> ids, final IdentityMap identityMap) {
+        final Map<Long, Actor> actors = new HashMap<>();
+        final Set<Long> missing = new HashSet<>();
+        ids.forEach(id -> Optional.ofNullable(identityMap.actor(id)).ifPresentOrElse(actor -> actors.put(id, actor), () -> missing.add(id)));
+        if (!missing.isEmpty()) {
+            actorRepository.findAllById(missing).values().forEach(actor -> actors.put(actor.getId(), identityMap.canonical(actor)));
+        }
+        return actors;
+    }
+
+    private Map<Integer, Genre> resolveGenres(final Set<Integer> ids, final IdentityMap identityMap) {
+        final Map<Integer, Genre> genres = new HashMap<>();
+        final Set<Integer> missing = new HashSet<>();
+        ids.forEach(id -> Optional.ofNullable(identityMap.genre(id)).ifPresentOrElse(genre -> genres.put(id, genre), () -> missing.add(id)));
+        if (!missing.isEmpty()) {
+            genreRepository.findAllById(missing).values().forEach(genre -> genres.put(genre.getId(), identityMap.canonical(genre)));
+        }
+        return genres;
+    }
+
+    static Set<Long> actorIds(final Collection<MovieAggregate> aggregates) {
+        return aggregates.stream()
+                         .flatMap(aggregate -> aggregate.getActors().values().stream())
+                         .map(MovieActorReference::getActorId)
+                         .collect(Collectors.toSet());
+    }
+
+    static Set<Integer> genreIds(final Collection<MovieAggregate> aggregates) {
+        return aggregates.stream()
+                         .flatMap(aggregate -> aggregate.getGenres().stream())
+                         .map(MovieGenreReference::getGenreId)
+                         .collect(Collectors.toSet());
+    }
+
+    static List<Movie> assemble(final Collection<MovieAggregate> aggregates, final Map<Long, Actor> actors, final Map<Integer, Genre> genres) {
+        return aggregates.stream()
+                         .map(aggregate -> aggregate.toDomain(
+                                 resolveActors(aggregate.getActors(), actors),
+                                 resolveGenres(aggregate.getGenres(), genres)
+                         ))
+                         .collect(Collectors.toList());
+    }
+
+    static Map<String, Actor> resolveActors(final Map<String, MovieActorReference> references, final Map<Long, Actor> actors) {
+        return references.entrySet()
+                         .stream()
+                         .collect(Collectors.toMap(
+                                 Map.Entry::getKey,
+                                 reference -> Optional.ofNullable(actors.get(reference.getValue().getActorId()))
+                         .orElseThrow(DataIntegrityException::new)));
+    }
+
+    static List<Genre> resolveGenres(final List<MovieGenreReference> references, final Map<Integer, Genre> genres) {
+        return references.stream()
+                         .map(reference -> Optional.ofNullable(genres.get(reference.getGenreId()))
+                         .orElseThrow(DataIntegrityException::new))
+                         .collect(Collectors.toList());
+    }
+
     private Movie prepareMovieAggregate(final Movie movie) {
         movie.setGenres(genreRepository.createAll(movie.getGenres()));
         movie.setActors(prepareMovieActors(movie.getActors()));
@@ -75,15 +289,14 @@ public class MovieRepository implements IMovieRepository {
     }
 
     private Map<String, Actor> prepareMovieActors(final Map<String, Actor> actors) {
-        final List<Actor> savedActors = actorRepository.createAll(new ArrayList<>(actors.values()));
+        final Map<ActorNaturalKey, Actor> savedActors = actorRepository.createAll(new ArrayList<>(actors.values()))
+                                                                       .stream()
+                                                                       .collect(Collectors.toMap(ActorNaturalKey::of, Function.identity(), (first, second) -> first));
         return actors.entrySet()
                      .stream()
                      .collect(Collectors.toMap(
                             Map.Entry::getKey,
-                            e -> savedActors.stream()
-                                            .filter(actor -> actor.equalIgnoringId(e.getValue()))
-                                            .findFirst()
-                                            .orElse(e.getValue()))
+                            e -> savedActors.getOrDefault(ActorNaturalKey.of(e.getValue()), e.getValue()))
                      );
     }
 
@@ -0,0 +1,143 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieSearchRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.MovieSearchHit;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.Chunks;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+
+/**
+ * Inverted index over movie titles, role names and cast names in MOVIE_SEARCH_TERMS, one row per term and movie
+ * weighted by where the term occurs. Terms are lower-cased and stripped of accents. Every query term matches as a
+ * prefix, all of them must match, and exact matches count double, so the index serves search-as-you-type with a
+ * single range scan per term. Movies are indexed in the transaction that creates them.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class MovieSearchRepository implements IMovieSearchRepository {
+
+    static final int TITLE_WEIGHT = 4;
+    static final int ROLE_WEIGHT = 2;
+    static final int CAST_WEIGHT = 1;
+    static final int MAX_QUERY_TERMS = 8;
+    private static final int MAX_TERM_LENGTH = 120;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final String MATCH_TERM =
+            "SELECT MovieId, SUM(CASE WHEN Term = ? THEN 2 * Weight ELSE Weight END) AS Score " +
+            "FROM MOVIE_SEARCH_TERMS WHERE Term LIKE ? GROUP BY MovieId";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MovieJoinFetchLoader movieLoader;
+    private final RepositoryProperties properties;
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MovieSearchHit> search(final String query, final int limit) {
+        Assert.isTrue(limit > 0, "Limit must be positive.");
+        final List<String> terms = terms(query).stream().distinct().limit(MAX_QUERY_TERMS).collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Object> parameters = new ArrayList<>();
+        terms.forEach(term -> parameters.addAll(Arrays.asList(term, term + "%")));
+        parameters.addAll(Arrays.asList(terms.size(), limit));
+        final MovieSummaryRowMapper summaries = new MovieSummaryRowMapper();
+        return jdbcTemplate.query(
+                "SELECT MOVIES.Id, MOVIES.Title, MOVIES.Duration, MOVIES.ReleaseDate, Hits.Score FROM (" +
+                "  SELECT MovieId, SUM(Score) AS Score FROM (" + String.join(" UNION ALL ", Collections.nCopies(terms.size(), MATCH_TERM)) + ") Matches " +
+                "  GROUP BY MovieId HAVING COUNT(*) = ? ORDER BY Score DESC, MovieId LIMIT ?" +
+                ") Hits JOIN MOVIES ON MOVIES.Id = Hits.MovieId ORDER BY Hits.Score DESC, MOVIES.Id",
+                (rs, rowNum) -> new MovieSearchHit(summaries.mapRow(rs, rowNum), rs.getLong("Score")),
+                parameters.toArray()
+        );
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM MOVIE_SEARCH_TERMS");
+        return reindex(jdbcTemplate.queryForList("SELECT Id FROM MOVIES ORDER BY Id", Long.class));
+    }
+
+    public int backfill() {
+        final int indexed = reindex(jdbcTemplate.queryForList(
+                "SELECT Id FROM MOVIES WHERE Id NOT IN (SELECT MovieId FROM MOVIE_SEARCH_TERMS) ORDER BY Id",
+                Long.class
+        ));
+        if (indexed > 0) {
+            log.info("Indexed {} movies for search", indexed);
+        }
+        return indexed;
+    }
+
+    public void index(final Collection<Movie> movies) {
+        final List<Object[]> rows = new ArrayList<>();
+        movies.forEach(movie -> terms(movie).forEach((term, weight) -> rows.add(new Object[] {term, movie.getId(), weight})));
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM MOVIE_SEARCH_TERMS WHERE MovieId = ?",
+                movies.stream().map(movie -> new Object[] {movie.getId()}).collect(Collectors.toList())
+        );
+        Chunks.of(rows, properties.getBatch().getSize()).forEach(batch -> jdbcTemplate.batchUpdate(
+                "INSERT INTO MOVIE_SEARCH_TERMS (Term, MovieId, Weight) VALUES (?, ?, ?)",
+                batch
+        ));
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onStartup() {
+        backfill();
+    }
+
+    private int reindex(final List<Long> ids) {
+        Chunks.of(ids, properties.getCursor().getHydrationBatchSize()).forEach(chunk -> index(movieLoader.findAllById(chunk)));
+        return ids.size();
+    }
+
+    static Map<String, Integer> terms(final Movie movie) {
+        final Map<String, Integer> weights = new LinkedHashMap<>();
+        terms(movie.getTitle()).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        movie.getActors().forEach((role, actor) -> {
+            terms(role).forEach(term -> weights.merge(term, ROLE_WEIGHT, Integer::sum));
+            terms(actor.getFullName()).forEach(term -> weights.merge(term, CAST_WEIGHT, Integer::sum));
+        });
+        return weights;
+    }
+
+    static List<String> terms(final String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        final String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(folded)
+                         .filter(term -> !term.isEmpty())
+                         .map(term -> term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term)
+                         .collect(Collectors.toList());
+    }
+
+}
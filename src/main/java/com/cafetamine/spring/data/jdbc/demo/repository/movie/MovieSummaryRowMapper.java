@@ -0,0 +1,25 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.MovieSummary;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+
+
+class MovieSummaryRowMapper implements RowMapper<MovieSummary> {
+
+    @Override
+    public MovieSummary mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+        return new MovieSummary(
+                rs.getLong("Id"),
+                rs.getString("Title"),
+                Duration.ofSeconds(rs.getLong("Duration")),
+                rs.getObject("ReleaseDate", LocalDate.class)
+        );
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IReactiveMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+
+/**
+ * Reactive bridge over the cursor-backed streams of {@link MovieJoinFetchLoader}. Movies are pulled from the cursor
+ * only as downstream requests them, hydration batch by hydration batch, so a slow subscriber holds a cursor rather
+ * than a materialised catalog. The cursor is closed on completion, error or cancellation. Blocking JDBC calls run on
+ * the bounded {@code repositoryExecutor}, never on the subscriber's thread.
+ */
+@Component
+public class ReactiveMovieRepository implements IReactiveMovieRepository {
+
+    private final MovieJoinFetchLoader movieLoader;
+    private final Scheduler scheduler;
+
+
+    public ReactiveMovieRepository(final MovieJoinFetchLoader movieLoader, @Qualifier("repositoryExecutor") final Executor executor) {
+        this.movieLoader = movieLoader;
+        this.scheduler = Schedulers.fromExecutor(executor, true);
+    }
+
+
+    @Override
+    public Flux<Movie> findAll() {
+        return stream(movieLoader::streamAll);
+    }
+
+    @Override
+    public Flux<Movie> findAllByGenre(final Genre genre) {
+        return stream(() -> movieLoader.streamAllByGenreId(genre.getId()));
+    }
+
+    private Flux<Movie> stream(final Supplier<Stream<Movie>> movies) {
+        return Flux.using(movies::get, Flux::fromStream, Stream::close)
+                   .subscribeOn(scheduler);
+    }
+
+}
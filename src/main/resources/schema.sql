@@ -1,3 +1,5 @@
+DROP TABLE IF EXISTS MOVIE_SEARCH_TERMS;
+DROP TABLE IF EXISTS MOVIE_READ_MODEL;
 DROP TABLE IF EXISTS MOVIE_ACTORS;
 DROP TABLE IF EXISTS MOVIE_GENRES;
 DROP TABLE IF EXISTS ACTORS;
@@ -11,9 +13,13 @@ CREATE TABLE ACTORS (
     Surname VARCHAR(120) NOT NULL,
     Birthdate DATETIME2 NOT NULL,
     Deathdate DATETIME2,
-    Gender VARCHAR(10) NOT NULL
+    Gender VARCHAR(10) NOT NULL,
+    FullName VARCHAR(241) AS LOWER(CONCAT(Name, ' ', Surname))
 );
 
+CREATE UNIQUE INDEX ACTORS_NATURAL_KEY_IDX ON ACTORS (Surname, Name, Birthdate, Gender);
+CREATE INDEX ACTORS_FULL_NAME_IDX ON ACTORS (FullName);
+
 CREATE TABLE GENRES (
     Id INTEGER IDENTITY PRIMARY KEY,
     Name VARCHAR(30) NOT NULL UNIQUE
@@ -26,14 +32,40 @@ CREATE TABLE MOVIES (
     ReleaseDate DATETIME2 NOT NULL
 );
 
+CREATE INDEX MOVIES_RELEASE_DATE_IDX ON MOVIES (ReleaseDate, Id);
+
 CREATE TABLE MOVIE_ACTORS (
     ActorId BIGINT NOT NULL REFERENCES ACTORS(Id),
     MovieId BIGINT NOT NULL REFERENCES MOVIES(Id),
-    Role VARCHAR(240) NOT NULL
+    Role VARCHAR(240) NOT NULL,
+    PRIMARY KEY (MovieId, Role)
 );
 
+CREATE INDEX MOVIE_ACTORS_ACTOR_IDX ON MOVIE_ACTORS (ActorId, MovieId);
+
 CREATE TABLE MOVIE_GENRES (
     GenreId INTEGER NOT NULL REFERENCES GENRES(Id),
     MovieId BIGINT NOT NULL REFERENCES MOVIES(Id),
-    Significance INTEGER NOT NULL
+    Significance INTEGER NOT NULL,
+    PRIMARY KEY (MovieId, Significance)
 );
+
+CREATE INDEX MOVIE_GENRES_GENRE_IDX ON MOVIE_GENRES (GenreId, MovieId);
+
+CREATE TABLE MOVIE_READ_MODEL (
+    MovieId BIGINT PRIMARY KEY REFERENCES MOVIES(Id) ON DELETE CASCADE,
+    Title VARCHAR(120) NOT NULL,
+    Duration BIGINT NOT NULL,
+    ReleaseDate DATETIME2 NOT NULL,
+    Genres VARCHAR NOT NULL,
+    Actors VARCHAR NOT NULL
+);
+
+CREATE TABLE MOVIE_SEARCH_TERMS (
+    Term VARCHAR(120) NOT NULL,
+    MovieId BIGINT NOT NULL REFERENCES MOVIES(Id) ON DELETE CASCADE,
+    Weight INTEGER NOT NULL,
+    PRIMARY KEY (Term, MovieId)
+);
+
+CREATE INDEX MOVIE_SEARCH_TERMS_MOVIE_IDX ON MOVIE_SEARCH_TERMS (MovieId);
@@ -0,0 +1,85 @@
+package com.cafetamine.spring.data.jdbc.demo.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class AsyncRepositoryConfigTest {
+
+    @Test
+    void repositoryExecutorService_RunsAtMostParallelismTasksOnPoolThreads() throws Exception {
+        final ExecutorService executor = executor(3, 100);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        try {
+            CompletableFuture.allOf(IntStream.range(0, 50)
+                                             .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                                                 maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                                 threads.add(Thread.currentThread().getName());
+                                                 sleep();
+                                                 running.decrementAndGet();
+                                             }, executor))
+                                             .toArray(CompletableFuture[]::new))
+                             .get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxRunning.get()).isBetween(1, 3);
+        assertThat(threads).hasSizeLessThanOrEqualTo(3).allMatch(thread -> thread.startsWith("repository-"));
+    }
+
+    @Test
+    void repositoryExecutorService_RunsOverflowOnSubmittingThread() throws Exception {
+        final ExecutorService executor = executor(1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final CompletableFuture<Void> busy = CompletableFuture.runAsync(() -> await(release), executor);
+            final CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor);
+            final CompletableFuture<String> overflow = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor);
+
+            assertThat(overflow.get(5, TimeUnit.SECONDS)).isEqualTo(Thread.currentThread().getName());
+            release.countDown();
+            busy.get(5, TimeUnit.SECONDS);
+            assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("repository-");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    private static ExecutorService executor(final int parallelism, final int queueCapacity) {
+        final RepositoryProperties properties = new RepositoryProperties();
+        properties.getAsync().setParallelism(parallelism);
+        properties.getAsync().setQueueCapacity(queueCapacity);
+        return new AsyncRepositoryConfig().repositoryExecutorService(properties);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
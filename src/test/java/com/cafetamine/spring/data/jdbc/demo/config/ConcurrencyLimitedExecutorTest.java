@@ -0,0 +1,48 @@
+package com.cafetamine.spring.data.jdbc.demo.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class ConcurrencyLimitedExecutorTest {
+
+    @Test
+    void runsAtMostPermitsTasksAtOnce() throws Exception {
+        final ExecutorService threadPerTask = Executors.newCachedThreadPool();
+        final ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(threadPerTask, 3);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        try {
+            CompletableFuture.allOf(IntStream.range(0, 50)
+                                             .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                                                 maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                                 sleep();
+                                                 running.decrementAndGet();
+                                             }, executor))
+                                             .toArray(CompletableFuture[]::new))
+                             .get(10, TimeUnit.SECONDS);
+        } finally {
+            threadPerTask.shutdownNow();
+        }
+
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.cafetamine.spring.data.jdbc.demo.config;
+
+import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.InstrumentedDataSource;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.Statements;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:read-write-primary",
+        "repository.replica.url=" + ReadReplicaConfigTest.REPLICA_URL
+})
+class ReadReplicaConfigTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:read-write-replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private static final Actor newcomer = new Actor(null, "Timothee", "Chalamet", LocalDate.of(1995, 12, 27), null, Gender.Male);
+
+
+    @Autowired DataSource dataSource;
+    @Autowired IActorRepository actorRepository;
+    @Autowired IMovieRepository movieRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+
+    @BeforeAll
+    static void initReplica() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(replica.getDataSource());
+        replica.update("INSERT INTO ACTORS (Name, Surname, Birthdate, Gender) VALUES ('Only', 'On Replica', '2000-01-01', 'Other')");
+    }
+
+    @AfterEach
+    void removeNewcomer() {
+        jdbcTemplate.update("DELETE FROM ACTORS WHERE Surname = 'Chalamet'");
+    }
+
+    @Test
+    void routesThroughReadWriteDataSource() {
+        assertThat(((InstrumentedDataSource) dataSource).getTargetDataSource()).isInstanceOf(ReadWriteDataSource.class);
+    }
+
+    @Test
+    void readsGoToReplica() {
+        assertThat(actorRepository.findByFullname("only on replica")).isPresent();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ACTORS WHERE Surname = 'On Replica'", Long.class)).isZero();
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        actorRepository.create(newcomer);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ACTORS WHERE Surname = 'Chalamet'", Long.class)).isOne();
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM ACTORS WHERE Surname = 'Chalamet'", Long.class)).isZero();
+        assertThat(actorRepository.findByFullname("timothee chalamet")).isEmpty();
+    }
+
+    @Test
+    void readsOwnWritesWithinTransaction() {
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            actorRepository.create(newcomer);
+
+            assertThat(actorRepository.findByFullname("timothee chalamet")).isPresent();
+            assertThat(actorRepository.findByFullname("only on replica")).isEmpty();
+        });
+    }
+
+    @Test
+    void findById_FillsCacheFromPrimary() {
+        actorRepository.updateDeathdate(1L, LocalDate.of(2100, 1, 1));
+        try {
+            assertThat(movieRepository.findById(1L).orElseThrow().getActors().get("Arthur Fleck").getDeathdate()).isEqualTo(LocalDate.of(2100, 1, 1));
+            assertThat(Statements.record(() -> movieRepository.findById(1L)).getStatements()).isZero();
+            assertThat(replica.queryForObject("SELECT Deathdate FROM ACTORS WHERE Id = 1", LocalDate.class)).isNull();
+        } finally {
+            actorRepository.updateDeathdate(1L, null);
+        }
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        final Long count = transaction.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ACTORS WHERE Surname = 'On Replica'", Long.class
+        ));
+
+        assertThat(count).isOne();
+    }
+
+}
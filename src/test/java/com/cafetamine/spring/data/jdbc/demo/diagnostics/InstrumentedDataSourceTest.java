@@ -0,0 +1,46 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@SpringBootTest
+class InstrumentedDataSourceTest {
+
+    @Autowired DataSource dataSource;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void dataSourceIsInstrumented() {
+        assertThat(dataSource).isInstanceOf(InstrumentedDataSource.class);
+    }
+
+    @Test
+    void countsQueriesAndUpdates() {
+        final long before = StatementCounter.get();
+
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MOVIES", Long.class);
+        jdbcTemplate.queryForList("SELECT Id FROM GENRES WHERE Id = ?", Integer.class, 1);
+        jdbcTemplate.update("UPDATE GENRES SET Name = Name WHERE Id = ?", 1);
+
+        assertThat(StatementCounter.get() - before).isEqualTo(3);
+    }
+
+    @Test
+    void countsBatchOnce() {
+        final long before = StatementCounter.get();
+
+        jdbcTemplate.batchUpdate("UPDATE GENRES SET Name = Name WHERE Id = ?", List.of(new Object[] {1}, new Object[] {2}));
+
+        assertThat(StatementCounter.get() - before).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import com.cafetamine.spring.data.jdbc.demo.core.application.genre.IGenreRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.FetchMode;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IAsyncMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IReactiveMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import reactor.core.publisher.Flux;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+
+@SpringBootTest
+class RepositoryMetricsTest {
+
+    @Autowired IMovieRepository movieRepository;
+    @Autowired IGenreRepository genreRepository;
+    @Autowired IAsyncMovieRepository asyncMovieRepository;
+    @Autowired IReactiveMovieRepository reactiveMovieRepository;
+    @Autowired MeterRegistry registry;
+    @Autowired RepositoryMetricsReport report;
+
+
+    @Test
+    void recordsCallsRowsAndStatements() {
+        final long calls = calls("MovieRepository", "findAll", "success");
+        final double rows = total(RepositoryMetrics.ROWS, "MovieRepository", "findAll");
+        final double statements = total(RepositoryMetrics.STATEMENTS, "MovieRepository", "findAll");
+
+        movieRepository.findAll();
+
+        assertThat(calls("MovieRepository", "findAll", "success")).isEqualTo(calls + 1);
+        assertThat(total(RepositoryMetrics.ROWS, "MovieRepository", "findAll")).isEqualTo(rows + 2);
+        assertThat(total(RepositoryMetrics.STATEMENTS, "MovieRepository", "findAll")).isGreaterThan(statements);
+    }
+
+    @Test
+    void recordsNestedRepositoryCalls() {
+        final long calls = calls("ActorRepository", "findAllById", "success");
+
+        movieRepository.findAll(FetchMode.LAZY).forEach(Movie::hashCode);
+
+        assertThat(calls("ActorRepository", "findAllById", "success")).isEqualTo(calls + 1);
+    }
+
+    @Test
+    void recordsPercentiles() {
+        movieRepository.findById(1L);
+
+        assertThat(timer("MovieRepository", "findById", "success").map(timer -> timer.takeSnapshot().percentileValues()))
+                .hasValueSatisfying(values -> assertThat(values)
+                        .extracting(ValueAtPercentile::percentile)
+                        .containsExactly(0.5, 0.95, 0.99));
+    }
+
+    @Test
+    void countsOptionalAsSingleRow() {
+        final double rows = total(RepositoryMetrics.ROWS, "GenreRepository", "findById");
+
+        genreRepository.findById(1);
+        genreRepository.findById(Integer.MAX_VALUE);
+
+        assertThat(total(RepositoryMetrics.ROWS, "GenreRepository", "findById")).isEqualTo(rows + 1);
+    }
+
+    @Test
+    void tagsFailuresWithExceptionType() {
+        final long calls = calls("MovieRepository", "findPageAfter", "IllegalArgumentException");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> movieRepository.findPageAfter(null, 0));
+
+        assertThat(calls("MovieRepository", "findPageAfter", "IllegalArgumentException")).isEqualTo(calls + 1);
+    }
+
+    @Test
+    void recordsAsyncCallWhenFutureCompletes() throws Exception {
+        final long calls = calls("AsyncMovieRepository", "findAll", "success");
+        final double rows = total(RepositoryMetrics.ROWS, "AsyncMovieRepository", "findAll");
+
+        assertThat(asyncMovieRepository.findAll().get(5, TimeUnit.SECONDS)).hasSize(2);
+
+        assertThat(calls("AsyncMovieRepository", "findAll", "success")).isEqualTo(calls + 1);
+        assertThat(total(RepositoryMetrics.ROWS, "AsyncMovieRepository", "findAll")).isEqualTo(rows + 2);
+        assertThat(count(RepositoryMetrics.STATEMENTS, "AsyncMovieRepository", "findAll")).isZero();
+    }
+
+    @Test
+    void recordsReactiveCallWhenPublisherTerminates() {
+        final long calls = calls("ReactiveMovieRepository", "findAll", "success");
+        final double rows = total(RepositoryMetrics.ROWS, "ReactiveMovieRepository", "findAll");
+        final Publisher<Movie> movies = reactiveMovieRepository.findAll();
+
+        assertThat(calls("ReactiveMovieRepository", "findAll", "success")).isEqualTo(calls);
+        assertThat(Flux.from(movies).collectList().block()).hasSize(2);
+
+        assertThat(calls("ReactiveMovieRepository", "findAll", "success")).isEqualTo(calls + 1);
+        assertThat(total(RepositoryMetrics.ROWS, "ReactiveMovieRepository", "findAll")).isEqualTo(rows + 2);
+    }
+
+    @Test
+    void report() {
+        movieRepository.findAll();
+
+        assertThat(report.lines()).anySatisfy(line -> assertThat(line)
+                .startsWith("MovieRepository.findAll [success] calls=")
+                .contains("p50=", "p95=", "p99=", "rows/call=", "statements/call="));
+    }
+
+
+    private Optional<Timer> timer(final String repository, final String method, final String outcome) {
+        return Optional.ofNullable(registry.find(RepositoryMetrics.CALLS)
+                                           .tags("repository", repository, "method", method, "outcome", outcome)
+                                           .timer());
+    }
+
+    private long calls(final String repository, final String method, final String outcome) {
+        return timer(repository, method, outcome).map(Timer::count).orElse(0L);
+    }
+
+    private long count(final String name, final String repository, final String method) {
+        return Optional.ofNullable(registry.find(name).tags("repository", repository, "method", method).summary())
+                       .map(DistributionSummary::count)
+                       .orElse(0L);
+    }
+
+    private double total(final String name, final String repository, final String method) {
+        return Optional.ofNullable(registry.find(name).tags("repository", repository, "method", method).summary())
+                       .map(DistributionSummary::totalAmount)
+                       .orElse(0.0);
+    }
+
+}
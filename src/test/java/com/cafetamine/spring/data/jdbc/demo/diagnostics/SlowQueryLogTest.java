@@ -0,0 +1,89 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@ExtendWith(OutputCaptureExtension.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slow-query-log",
+        "repository.slow-query.threshold=0ms"
+})
+class SlowQueryLogTest {
+
+    @Autowired SlowQueryLog slowQueryLog;
+    @Autowired RepositoryProperties properties;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+
+    @AfterEach
+    void resetThreshold() {
+        properties.getSlowQuery().setThreshold(Duration.ZERO);
+    }
+
+    @Test
+    void logsStatementWithBoundParameters(final CapturedOutput output) {
+        jdbcTemplate.queryForList("SELECT Name FROM ACTORS WHERE Surname = ? AND Id > ?", String.class, "Phoenix", 0);
+
+        assertThat(slowQueryLog.awaitLogged(Duration.ofSeconds(5))).isTrue();
+        assertThat(output).contains("SELECT Name FROM ACTORS WHERE Surname = ? AND Id > ? [Phoenix, 0]");
+    }
+
+    @Test
+    void explainsFirstOccurrenceOfQueryShape(final CapturedOutput output) {
+        jdbcTemplate.queryForList("SELECT Title FROM MOVIES WHERE Duration > ?", String.class, 100);
+        jdbcTemplate.queryForList("SELECT Title FROM MOVIES WHERE Duration > ?", String.class, 125);
+
+        assertThat(slowQueryLog.awaitLogged(Duration.ofSeconds(5))).isTrue();
+        assertThat(output.getOut().split("Plan of SELECT Title FROM MOVIES WHERE Duration > \\?", -1)).hasSize(2);
+        assertThat(output).contains("/* PUBLIC.MOVIES.tableScan */");
+    }
+
+    @Test
+    void doesNotExplainWrites(final CapturedOutput output) {
+        jdbcTemplate.update("UPDATE GENRES SET Name = Name WHERE Id = ?", 1);
+
+        assertThat(slowQueryLog.awaitLogged(Duration.ofSeconds(5))).isTrue();
+        assertThat(output).contains("UPDATE GENRES SET Name = Name WHERE Id = ? [1]")
+                          .doesNotContain("Plan of UPDATE");
+    }
+
+    @Test
+    void skipsStatementsBelowThreshold(final CapturedOutput output) {
+        properties.getSlowQuery().setThreshold(Duration.ofMinutes(1));
+
+        jdbcTemplate.queryForList("SELECT Name FROM GENRES WHERE Id < ?", String.class, 3);
+
+        assertThat(slowQueryLog.awaitLogged(Duration.ofSeconds(5))).isTrue();
+        assertThat(output).doesNotContain("SELECT Name FROM GENRES WHERE Id < ?");
+    }
+
+    @Test
+    void dropsEntriesInsteadOfBlocking() {
+        final RepositoryProperties repositoryProperties = new RepositoryProperties();
+        repositoryProperties.getSlowQuery().setThreshold(Duration.ZERO);
+        repositoryProperties.getSlowQuery().setQueueCapacity(1);
+        repositoryProperties.getSlowQuery().setExplain(false);
+        final SlowQueryLog log = new SlowQueryLog(repositoryProperties, null);
+
+        for (int i = 0; i < 1000; i++) {
+            log.completed("SELECT 1", List.of(), 1);
+        }
+
+        assertThat(log.getDropped()).isPositive();
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import com.cafetamine.spring.data.jdbc.demo.core.application.genre.IGenreRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-budgets",
+        "repository.statements.fail-fast=true",
+        "repository.statements.repeat-threshold=3",
+        "repository.statements.budgets.[MovieRepository.findAll]=2"
+})
+class StatementBudgetsTest {
+
+    @Autowired IMovieRepository movieRepository;
+    @Autowired IGenreRepository genreRepository;
+    @Autowired StatementBudgets budgets;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void failsRepositoryCallOverBudget() {
+        assertThatThrownBy(() -> movieRepository.findAll())
+                .isInstanceOf(StatementBudgetExceededException.class)
+                .hasMessageStartingWith("MovieRepository.findAll issued 3 statements, budget is 2");
+    }
+
+    @Test
+    void failsBeforeExecutingStatementOverBudget() {
+        final UnitOfWork recorded = Statements.record(() -> assertThatThrownBy(() -> movieRepository.findAll())
+                .isInstanceOf(StatementBudgetExceededException.class));
+
+        assertThat(recorded.getStatements()).isEqualTo(2);
+    }
+
+    @Test
+    void failsRepeatedShape() {
+        assertThatThrownBy(() -> budgets.within("request", () -> {
+            for (int id = 1; id <= 4; id++) {
+                jdbcTemplate.queryForList("SELECT Name FROM GENRES WHERE Id = ?", String.class, id);
+            }
+            return null;
+        }))
+                .isInstanceOf(StatementBudgetExceededException.class)
+                .hasMessage("request repeated 4 times: SELECT Name FROM GENRES WHERE Id = ?");
+    }
+
+    @Test
+    void allowsCallWithinBudget() {
+        assertThat(genreRepository.findById(1)).isPresent();
+    }
+
+    @Test
+    void nestedUnitsCountIndependently() {
+        final UnitOfWork recorded = Statements.record(() -> budgets.within("request", () -> {
+            jdbcTemplate.queryForList("SELECT Name FROM GENRES WHERE Id = ?", String.class, 1);
+            return genreRepository.findById(1);
+        }));
+
+        assertThat(recorded.getShapes()).containsEntry("SELECT Name FROM GENRES WHERE Id = ?", 1);
+    }
+
+}
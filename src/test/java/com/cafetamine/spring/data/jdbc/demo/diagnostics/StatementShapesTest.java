@@ -0,0 +1,32 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class StatementShapesTest {
+
+    @ParameterizedTest @MethodSource("dataSetOf")
+    void of(final String sql, final String expected) {
+        assertThat(StatementShapes.of(sql)).isEqualTo(expected);
+    }
+
+
+    static Stream<Arguments> dataSetOf() {
+        return Stream.of(
+                Arguments.of(null, "<unknown>"),
+                Arguments.of("SELECT * FROM ACTORS WHERE Id = ?", "SELECT * FROM ACTORS WHERE Id = ?"),
+                Arguments.of("SELECT * FROM ACTORS WHERE Id = 42", "SELECT * FROM ACTORS WHERE Id = ?"),
+                Arguments.of("SELECT * FROM ACTORS WHERE Name = 'O''Hara'", "SELECT * FROM ACTORS WHERE Name = ?"),
+                Arguments.of("SELECT * FROM ACTORS WHERE Id IN (?, ?,?)", "SELECT * FROM ACTORS WHERE Id IN (?)"),
+                Arguments.of("SELECT * FROM ACTORS WHERE Id IN (1, 2, 3)", "SELECT * FROM ACTORS WHERE Id IN (?)"),
+                Arguments.of("SELECT *\n  FROM   MOVIE_GENRES\tWHERE MovieId = ?", "SELECT * FROM MOVIE_GENRES WHERE MovieId = ?")
+        );
+    }
+
+}
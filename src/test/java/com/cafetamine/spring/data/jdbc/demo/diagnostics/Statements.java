@@ -0,0 +1,52 @@
+package com.cafetamine.spring.data.jdbc.demo.diagnostics;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Test helper recording the statements a piece of work issues through the application {@code DataSource}.
+ */
+public final class Statements {
+
+    private Statements() {
+
+    }
+
+    public static UnitOfWork record(final Runnable work) {
+        final UnitOfWork unit = UnitOfWork.begin("recorded", Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+        try {
+            work.run();
+        } finally {
+            unit.end();
+        }
+        return unit;
+    }
+
+    /**
+     * Plan of the one statement issued by {@code work} that contains {@code fragment}, explained as the application
+     * sent it. H2 plans prepared statements before parameters are bound, so the markers are left unset.
+     */
+    public static String explain(final JdbcTemplate jdbcTemplate, final String fragment, final Runnable work) {
+        final List<String> matching = record(work).getSql()
+                                                  .stream()
+                                                  .filter(sql -> sql.contains(fragment))
+                                                  .collect(Collectors.toList());
+        assertThat(matching).as("statements containing %s", fragment).hasSize(1);
+        return jdbcTemplate.query(
+                connection -> connection.prepareStatement("EXPLAIN " + matching.get(0)),
+                (ResultSetExtractor<String>) rs -> rs.next() ? rs.getString(1) : null
+        );
+    }
+
+    public static void assertAtMost(final int statements, final Runnable work) {
+        final UnitOfWork unit = record(work);
+        assertThat(unit.getStatements()).as("%s", unit).isLessThanOrEqualTo(statements);
+    }
+
+}
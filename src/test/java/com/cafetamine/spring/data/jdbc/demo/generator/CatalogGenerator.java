@@ -0,0 +1,164 @@
+package com.cafetamine.spring.data.jdbc.demo.generator;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+
+import lombok.Getter;
+
+import org.springframework.util.Assert;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+
+/**
+ * Deterministic synthetic catalog. The same scale and seed always produce the same rows.
+ * <ul>
+ *     <li>cast sizes follow a Zipf distribution, so most movies have a few credited actors and some have many,</li>
+ *     <li>actors are drawn by Zipf rank, so low ids are the popular actors credited in many movies,</li>
+ *     <li>genres are drawn by Zipf rank over {@link #GENRE_NAMES}, so a few genres dominate.</li>
+ * </ul>
+ * Actor and genre columns depend only on the id, so callers can rebuild any seeded row with {@link #actor(long)}
+ * and {@link #genre(int)}.
+ */
+@Getter
+public class CatalogGenerator {
+
+    public static final long DEFAULT_SEED = 20_200_101L;
+
+    static final List<String> GENRE_NAMES = Arrays.asList(
+            "drama", "comedy", "thriller", "action", "romance", "crime", "horror", "documentary", "adventure",
+            "family", "animation", "mystery", "fantasy", "si-fi", "biography", "history", "war", "music",
+            "musical", "western", "sport", "film-noir"
+    );
+    private static final List<String> FIRST_NAMES = Arrays.asList(
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Joaquin", "Keira", "Paolo", "Sophia", "Marcello", "Ingrid", "Akira", "Juliette", "Toshiro", "Greta"
+    );
+    private static final List<String> SURNAMES = Arrays.asList(
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Taylor", "Moore", "Jackson", "Martin", "Lee",
+            "Rossi", "Bianchi", "Dupont", "Moreau", "Tanaka", "Suzuki", "Novak", "Kowalski", "Larsen", "Berg"
+    );
+    private static final List<String> TITLE_WORDS = Arrays.asList(
+            "Night", "Earth", "Last", "Summer", "River", "Silent", "Red", "City", "Dream", "Shadow", "Road", "Blue",
+            "Winter", "Heart", "Stranger", "Empire", "Lost", "Garden", "Storm", "Return", "Secret", "Golden"
+    );
+    private static final int MAX_CAST = 40;
+    private static final int MAX_GENRES = 3;
+    private static final LocalDate FIRST_BIRTHDATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate FIRST_RELEASE = LocalDate.of(1920, 1, 1);
+
+    private final int movies, actors, genres;
+    private final long seed;
+
+
+    public CatalogGenerator(final int movies, final long seed) {
+        Assert.isTrue(movies > 0, "Scale must be positive.");
+        this.movies = movies;
+        this.actors = Math.max(movies / 2, 100);
+        this.genres = GENRE_NAMES.size();
+        this.seed = seed;
+    }
+
+    public CatalogGenerator(final int movies) {
+        this(movies, DEFAULT_SEED);
+    }
+
+    public Actor actor(final long id) {
+        final int combinations = FIRST_NAMES.size() * SURNAMES.size();
+        final long generation = (id - 1) / combinations;
+        return new Actor(
+                id,
+                FIRST_NAMES.get((int) ((id - 1) % FIRST_NAMES.size())),
+                SURNAMES.get((int) ((id - 1) / FIRST_NAMES.size() % SURNAMES.size())) + (generation == 0 ? "" : " " + (generation + 1)),
+                FIRST_BIRTHDATE.plusDays(Math.floorMod(id * 7919, 36_500)),
+                id % 5 == 0 ? FIRST_BIRTHDATE.plusDays(Math.floorMod(id * 7919, 36_500) + 20_000 + id % 10_000) : null,
+                id % 11 == 0 ? Gender.Other : (id - 1) % 2 == 0 ? Gender.Male : Gender.Female
+        );
+    }
+
+    public Genre genre(final int id) {
+        return new Genre(id, GENRE_NAMES.get(id - 1));
+    }
+
+    public void generate(final CatalogSink sink) {
+        sink.write(CatalogTable.GENRES, LongStream.rangeClosed(1, genres).mapToObj(id -> {
+            final Genre genre = genre((int) id);
+            return new Object[] {genre.getId(), genre.getName()};
+        }));
+        sink.write(CatalogTable.ACTORS, LongStream.rangeClosed(1, actors).mapToObj(id -> {
+            final Actor actor = actor(id);
+            return new Object[] {id, actor.getName(), actor.getSurname(), actor.getBirthdate(), actor.getDeathdate(), actor.getGender().name()};
+        }));
+        final SplittableRandom movieRandom = random(CatalogTable.MOVIES);
+        sink.write(CatalogTable.MOVIES, LongStream.rangeClosed(1, movies).mapToObj(id -> new Object[] {
+                id,
+                title(movieRandom),
+                4_800L + movieRandom.nextInt(3_600),
+                FIRST_RELEASE.plusDays(movieRandom.nextInt(37_000))
+        }));
+        final ZipfDistribution castSizes = new ZipfDistribution(MAX_CAST, 1.1);
+        final ZipfDistribution actorRanks = new ZipfDistribution(actors, 1.0);
+        final SplittableRandom castRandom = random(CatalogTable.MOVIE_ACTORS);
+        sink.write(CatalogTable.MOVIE_ACTORS, LongStream.rangeClosed(1, movies).boxed().flatMap(movie -> {
+            final List<Object[]> rows = new ArrayList<>();
+            int role = 0;
+            for (final int actor : distinct(actorRanks, castSizes.sample(castRandom), castRandom)) {
+                rows.add(new Object[] {(long) actor, movie, "Role " + ++role});
+            }
+            return rows.stream();
+        }));
+        final ZipfDistribution genreRanks = new ZipfDistribution(genres, 1.3);
+        final SplittableRandom genreRandom = random(CatalogTable.MOVIE_GENRES);
+        sink.write(CatalogTable.MOVIE_GENRES, LongStream.rangeClosed(1, movies).boxed().flatMap(movie -> {
+            final List<Object[]> rows = new ArrayList<>();
+            int significance = 0;
+            for (final int genre : distinct(genreRanks, 1 + genreRandom.nextInt(MAX_GENRES), genreRandom)) {
+                rows.add(new Object[] {genre, movie, ++significance});
+            }
+            return rows.stream();
+        }));
+    }
+
+    private SplittableRandom random(final CatalogTable table) {
+        return new SplittableRandom(seed * 31 + table.ordinal());
+    }
+
+    private static Set<Integer> distinct(final ZipfDistribution distribution, final int count, final SplittableRandom random) {
+        final Set<Integer> ranks = new LinkedHashSet<>();
+        final int target = Math.min(count, distribution.size());
+        while (ranks.size() < target) {
+            ranks.add(distribution.sample(random));
+        }
+        return ranks;
+    }
+
+    private static String title(final SplittableRandom random) {
+        return Stream.generate(() -> TITLE_WORDS.get(random.nextInt(TITLE_WORDS.size())))
+                     .limit(1 + random.nextInt(3))
+                     .reduce((first, second) -> first + " " + second)
+                     .orElseThrow();
+    }
+
+    /**
+     * Writes one CSV file per table: {@code CatalogGenerator <movies> <directory> [seed]}.
+     */
+    public static void main(final String[] args) {
+        final Path directory = Paths.get(args[1]);
+        new CatalogGenerator(Integer.parseInt(args[0]), args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED)
+                .generate(new CsvCatalogSink(directory));
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.cafetamine.spring.data.jdbc.demo.generator;
+
+import com.cafetamine.spring.data.jdbc.demo.SpringDataJdbcDemoApplicationTestsConfiguration;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorNaturalKey;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJdbcTest
+@Import(SpringDataJdbcDemoApplicationTestsConfiguration.class)
+class CatalogGeneratorTest {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void generate_IsDeterministic() {
+        final Map<CatalogTable, List<List<Object>>> first = generate(new CatalogGenerator(500, 1L));
+        final Map<CatalogTable, List<List<Object>>> second = generate(new CatalogGenerator(500, 1L));
+        final Map<CatalogTable, List<List<Object>>> reseeded = generate(new CatalogGenerator(500, 2L));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.get(CatalogTable.MOVIE_ACTORS)).isNotEqualTo(reseeded.get(CatalogTable.MOVIE_ACTORS));
+    }
+
+    @Test
+    void generate_ScalesWithMovies() {
+        final Map<CatalogTable, List<List<Object>>> catalog = generate(new CatalogGenerator(1_000));
+
+        assertThat(catalog.get(CatalogTable.MOVIES)).hasSize(1_000);
+        assertThat(catalog.get(CatalogTable.ACTORS)).hasSize(500);
+        assertThat(catalog.get(CatalogTable.GENRES)).hasSize(CatalogGenerator.GENRE_NAMES.size());
+    }
+
+    @Test
+    void generate_IsSkewed() {
+        final Map<CatalogTable, List<List<Object>>> catalog = generate(new CatalogGenerator(5_000));
+        final List<List<Object>> credits = catalog.get(CatalogTable.MOVIE_ACTORS);
+        final List<List<Object>> genres = catalog.get(CatalogTable.MOVIE_GENRES);
+
+        final List<Long> castSizes = countsDescending(credits, row -> row.get(1));
+        assertThat(castSizes.get(0)).isGreaterThan(5 * castSizes.get(castSizes.size() / 2));
+        final List<Long> actorCredits = countsDescending(credits, row -> row.get(0));
+        assertThat(actorCredits.subList(0, actorCredits.size() / 100).stream().mapToLong(Long::longValue).sum())
+                .isGreaterThan(credits.size() / 5L);
+        final List<Long> genreCounts = countsDescending(genres, row -> row.get(0));
+        assertThat(genreCounts.subList(0, 3).stream().mapToLong(Long::longValue).sum()).isGreaterThan(genres.size() / 2L);
+    }
+
+    @Test
+    void actor_NaturalKeysAreUnique() {
+        final CatalogGenerator generator = new CatalogGenerator(20_000);
+
+        assertThat(LongStream.rangeClosed(1, generator.getActors()).mapToObj(generator::actor).map(ActorNaturalKey::of))
+                .doesNotHaveDuplicates();
+        assertThat(LongStream.rangeClosed(1, generator.getActors()).mapToObj(generator::actor).map(Actor::getFullName))
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void generate_LoadsIntoSchema() {
+        final CatalogGenerator generator = new CatalogGenerator(300);
+        final JdbcCatalogSink sink = new JdbcCatalogSink(jdbcTemplate, 64);
+
+        sink.clear();
+        generator.generate(sink);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MOVIES", Long.class)).isEqualTo(300L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ACTORS", Long.class)).isEqualTo((long) generator.getActors());
+        assertThat(jdbcTemplate.queryForObject("SELECT Name FROM ACTORS WHERE Id = 42", String.class)).isEqualTo(generator.actor(42).getName());
+        jdbcTemplate.update("INSERT INTO GENRES (Name) VALUES ('new genre')");
+        assertThat(jdbcTemplate.queryForObject("SELECT Id FROM GENRES WHERE Name = 'new genre'", Integer.class)).isEqualTo(generator.getGenres() + 1);
+    }
+
+
+    private static Map<CatalogTable, List<List<Object>>> generate(final CatalogGenerator generator) {
+        final Map<CatalogTable, List<List<Object>>> tables = new EnumMap<>(CatalogTable.class);
+        generator.generate((table, rows) -> tables.put(table, rows.map(Arrays::asList).collect(Collectors.toCollection(ArrayList::new))));
+        return tables;
+    }
+
+    private static List<Long> countsDescending(final List<List<Object>> rows, final Function<List<Object>, Object> key) {
+        return rows.stream()
+                   .collect(Collectors.groupingBy(key, Collectors.counting()))
+                   .values()
+                   .stream()
+                   .sorted(Comparator.reverseOrder())
+                   .collect(Collectors.toList());
+    }
+
+}
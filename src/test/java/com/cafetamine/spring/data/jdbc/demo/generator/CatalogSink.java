@@ -0,0 +1,14 @@
+package com.cafetamine.spring.data.jdbc.demo.generator;
+
+import java.util.stream.Stream;
+
+
+@FunctionalInterface
+public interface CatalogSink {
+
+    /**
+     * Receives the rows of one table, in foreign key order. Values follow {@link CatalogTable#getColumns()}.
+     */
+    void write(CatalogTable table, Stream<Object[]> rows);
+
+}
@@ -0,0 +1,32 @@
+package com.cafetamine.spring.data.jdbc.demo.generator;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+public enum CatalogTable {
+
+    GENRES(true, "Id", "Name"),
+    ACTORS(true, "Id", "Name", "Surname", "Birthdate", "Deathdate", "Gender"),
+    MOVIES(true, "Id", "Title", "Duration", "ReleaseDate"),
+    MOVIE_ACTORS(false, "ActorId", "MovieId", "Role"),
+    MOVIE_GENRES(false, "GenreId", "MovieId", "Significance");
+
+    private final boolean identity;
+    private final List<String> columns;
+
+
+    CatalogTable(final boolean identity, final String... columns) {
+        this.identity = identity;
+        this.columns = Arrays.asList(columns);
+    }
+
+    public boolean hasIdentity() {
+        return identity;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+}
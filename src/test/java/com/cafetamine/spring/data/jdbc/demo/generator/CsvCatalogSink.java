@@ -0,0 +1,55 @@
+package com.cafetamine.spring.data.jdbc.demo.generator;
+
+import lombok.AllArgsConstructor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Writes {@code <TABLE>.csv} files with a header row, loadable with H2's {@code CSVREAD} or any RFC 4180 reader.
+ * Nulls are written as empty fields.
+ */
+@AllArgsConstructor
+public class CsvCatalogSink implements CatalogSink {
+
+    private final Path directory;
+
+
+    @Override
+    public void write(final CatalogTable table, final Stream<Object[]> rows) {
+        try {
+            Files.createDirectories(directory);
+            try (final BufferedWriter writer = Files.newBufferedWriter(directory.resolve(table.name() + ".csv"), StandardCharsets.UTF_8)) {
+                writer.write(String.join(",", table.getColumns()));
+                writer.newLine();
+                final Iterator<Object[]> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(Arrays.stream(iterator.next()).map(CsvCatalogSink::field).collect(Collectors.joining(",")));
+                    writer.newLine();
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String field(final Object value) {
+        if (value == null) {
+            return "";
+        }
+        final String text = value.toString();
+        return text.contains(",") || text.contains("\"") || text.contains("\n")
+                ? "\"" + text.replace("\"", "\"\"") + "\""
+                : text;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.cafetamine.spring.data.jdbc.demo.generator;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+
+/**
+ * Loads generated rows straight into the schema with JDBC batches and moves identity columns past the highest
+ * generated id, so rows created afterwards by the repositories do not collide.
+ */
+@AllArgsConstructor
+public class JdbcCatalogSink implements CatalogSink {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+
+    public void clear() {
+        jdbcTemplate.execute("DELETE FROM MOVIE_ACTORS");
+        jdbcTemplate.execute("DELETE FROM MOVIE_GENRES");
+        jdbcTemplate.execute("DELETE FROM MOVIES");
+        jdbcTemplate.execute("DELETE FROM ACTORS");
+        jdbcTemplate.execute("DELETE FROM GENRES");
+    }
+
+    @Override
+    public void write(final CatalogTable table, final Stream<Object[]> rows) {
+        final String sql = String.format(
+                "INSERT INTO %s (%s) VALUES (%s)",
+                table.name(),
+                String.join(", ", table.getColumns()),
+                String.join(", ", Collections.nCopies(table.getColumns().size(), "?"))
+        );
+        long maxId = 0;
+        final List<Object[]> batch = new ArrayList<>(batchSize);
+        final Iterator<Object[]> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            final Object[] row = iterator.next();
+            if (table.hasIdentity()) {
+                maxId = Math.max(maxId, ((Number) row[0]).longValue());
+            }
+            batch.add(row);
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (table.hasIdentity()) {
+            jdbcTemplate.execute(String.format("ALTER TABLE %s ALTER COLUMN Id RESTART WITH %d", table.name(), maxId + 1));
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.cafetamine.spring.data.jdbc.demo.generator;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+
+/**
+ * Samples ranks {@code 1..size} with probability proportional to {@code 1 / rank^exponent}, by binary search over
+ * a precomputed cumulative distribution.
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+
+    public ZipfDistribution(final int size, final double exponent) {
+        Assert.isTrue(size > 0, "Size must be positive.");
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    public int sample(final SplittableRandom random) {
+        final int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index + 1 : -index, cumulative.length);
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.cafetamine.spring.data.jdbc.demo.importer;
+
+import com.cafetamine.spring.data.jdbc.demo.SpringDataJdbcDemoApplicationTestsConfiguration;
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieJoinFetchLoader;
+import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieReadModel;
+import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieSearchRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
+
+
+@DataJdbcTest
+@Import({SpringDataJdbcDemoApplicationTestsConfiguration.class, RepositoryProperties.class, CatalogImporter.class, MovieJoinFetchLoader.class, MovieReadModel.class, MovieSearchRepository.class})
+class CatalogImporterTest {
+
+    private static final Actor phoenixDomain = new Actor(1L, "Joaquin", "Phoenix", LocalDate.of(1974, 10, 28), null, Gender.Male);
+    private static final Genre dramaDomain = new Genre(2, "drama");
+
+    @Autowired private CatalogImporter importer;
+    @Autowired private MovieJoinFetchLoader loader;
+    @Autowired private MovieReadModel readModel;
+    @Autowired private MovieSearchRepository searchRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private RepositoryProperties properties;
+
+    @TempDir Path directory;
+
+
+    @BeforeEach
+    void beforeEach() {
+        properties.getBulkImport().setChunkSize(10_000);
+        properties.getBulkImport().setIdBlockSize(10_000);
+        properties.getBatch().setSize(500);
+    }
+
+    @ParameterizedTest @CsvSource({"10000, 10000, 500", "1, 1, 1", "3, 2, 2"})
+    void importCatalog(final int chunkSize, final int idBlockSize, final int batchSize) throws IOException {
+        properties.getBulkImport().setChunkSize(chunkSize);
+        properties.getBulkImport().setIdBlockSize(idBlockSize);
+        properties.getBatch().setSize(batchSize);
+        writeCatalog();
+
+        final ImportReport report = importer.importCatalog(CatalogDump.in(directory));
+
+        final Actor heath = actorByName("Heath");
+        final Actor gary = actorByName("Gary");
+        final Genre action = genreByName("action");
+        assertThat(movieByTitle("The Dark Knight")).isEqualTo(new Movie(
+                movieByTitle("The Dark Knight").getId(),
+                "The Dark Knight",
+                Duration.ofSeconds(9120),
+                LocalDate.of(2008, 7, 18),
+                Map.of("Joker", heath, "James Gordon", gary, "Cameo", phoenixDomain),
+                Arrays.asList(action, genreByName("crime"), dramaDomain)
+        ));
+        assertThat(heath.getDeathdate()).isEqualTo(LocalDate.of(2008, 1, 22));
+        assertThat(movieByTitle("Leon").getActors()).isEqualTo(Map.of("Norman Stansfield", gary));
+        assertThat(movieByTitle("Leon").getGenres()).containsExactly(action);
+        assertThat(report.getRowsByTable()).containsExactly(
+                Map.entry("GENRES", 1L),
+                Map.entry("ACTORS", 2L),
+                Map.entry("MOVIES", 2L),
+                Map.entry("MOVIE_ACTORS", 4L),
+                Map.entry("MOVIE_GENRES", 4L)
+        );
+        assertThat(report.getReusedActors()).isEqualTo(2L);
+        assertThat(report.getRowsPerSecond()).isPositive();
+        assertThat(readModel.findAll()).containsExactlyElementsOf(loader.findAll());
+        assertThat(searchRepository.search("dark knight", 10)).extracting(hit -> hit.getMovie().getTitle()).containsExactly("The Dark Knight");
+    }
+
+    @Test
+    void importCatalog_RepositoryInsertsDoNotReuseReservedIds() throws IOException {
+        properties.getBulkImport().setIdBlockSize(100);
+        writeCatalog();
+
+        importer.importCatalog(CatalogDump.in(directory));
+        jdbcTemplate.update("INSERT INTO ACTORS (Name, Surname, Birthdate, Gender) VALUES ('Johnny', 'Depp', '1963-06-09', 'Male')");
+
+        assertThat(actorByName("Johnny").getId()).isGreaterThan(actorByName("Heath").getId() + 98);
+    }
+
+    @Test
+    void reserve_InsertsBetweenReservationsSkipTheBlock() {
+        final IdBlockAllocator allocator = new IdBlockAllocator(jdbcTemplate, "ACTORS", 3);
+
+        allocator.reserve();
+        jdbcTemplate.update("INSERT INTO ACTORS (Name, Surname, Birthdate, Gender) VALUES ('Johnny', 'Depp', '1963-06-09', 'Male')");
+        final List<Long> reserved = List.of(allocator.next(), allocator.next(), allocator.next());
+
+        assertThat(allocator.isExhausted()).isTrue();
+        assertThat(reserved).doesNotContain(actorByName("Johnny").getId()).doesNotHaveDuplicates();
+        assertThat(reserved.get(0)).isGreaterThan(6L);
+    }
+
+    @Test
+    void importCatalog_ThrowsForMalformedRow() throws IOException {
+        writeCatalog();
+        write("people.tsv",
+              "key\tname\tsurname\tbirthdate\tdeathdate\tgender",
+              "p1\tHeath\tLedger\t1979-04-04\t\\N\tMale",
+              "p2\tGary\tOldman\tyesterday\t\\N\tMale");
+
+        assertThat(catchThrowableOfType(() -> importer.importCatalog(CatalogDump.in(directory)), IllegalArgumentException.class))
+                .hasMessage("people.tsv:3: malformed birthdate");
+    }
+
+    @Test
+    void importCatalog_ThrowsForUnknownPerson() throws IOException {
+        writeCatalog();
+        write("cast.tsv",
+              "movieKey\tpersonKey\trole",
+              "m1\tp404\tJoker");
+
+        assertThat(catchThrowableOfType(() -> importer.importCatalog(CatalogDump.in(directory)), DataIntegrityException.class))
+                .hasMessage("cast.tsv:2: unknown person p404");
+    }
+
+    @Test
+    void importCatalog_ThrowsForDuplicateRole() throws IOException {
+        writeCatalog();
+        write("cast.tsv",
+              "movieKey\tpersonKey\trole",
+              "m1\tp1\tJoker",
+              "m1\tp4\tJoker");
+
+        assertThat(catchThrowableOfType(() -> importer.importCatalog(CatalogDump.in(directory)), IllegalArgumentException.class))
+                .hasMessage("cast.tsv:3: duplicate role Joker for movie m1");
+    }
+
+    @Test
+    void importCatalog_ThrowsForDuplicateGenre() throws IOException {
+        writeCatalog();
+        write("movies.tsv",
+              "key\ttitle\tdurationSeconds\treleaseDate\tgenres",
+              "m1\tThe Dark Knight\t9120\t2008-07-18\taction,crime,action");
+
+        assertThat(catchThrowableOfType(() -> importer.importCatalog(CatalogDump.in(directory)), IllegalArgumentException.class))
+                .hasMessage("movies.tsv:2: duplicate genre action");
+    }
+
+
+    private void writeCatalog() throws IOException {
+        write("genres.tsv",
+              "name",
+              "action",
+              "drama");
+        write("people.tsv",
+              "key\tname\tsurname\tbirthdate\tdeathdate\tgender",
+              "p1\tHeath\tLedger\t1979-04-04\t2008-01-22\tMale",
+              "p2\tGary\tOldman\t1958-03-21\t\\N\tMale",
+              "p3\tJoaquin\tPhoenix\t1974-10-28\t\\N\tMale",
+              "p4\tGary\tOldman\t1958-03-21\t\\N\tMale");
+        write("movies.tsv",
+              "key\ttitle\tdurationSeconds\treleaseDate\tgenres",
+              "m1\tThe Dark Knight\t9120\t2008-07-18\taction,crime,drama",
+              "m2\tLeon\t6600\t1994-09-14\taction");
+        write("cast.tsv",
+              "movieKey\tpersonKey\trole",
+              "m1\tp1\tJoker",
+              "m1\tp4\tJames Gordon",
+              "m1\tp3\tCameo",
+              "m2\tp2\tNorman Stansfield");
+    }
+
+    private void write(final String file, final String... lines) throws IOException {
+        Files.write(directory.resolve(file), Arrays.asList(lines));
+    }
+
+    private Movie movieByTitle(final String title) {
+        final List<Movie> movies = loader.findAll();
+        return movies.stream().filter(movie -> movie.getTitle().equals(title)).findFirst().orElseThrow();
+    }
+
+    private Actor actorByName(final String name) {
+        return jdbcTemplate.queryForObject(
+                "SELECT * FROM ACTORS WHERE Name = ?",
+                (rs, rowNum) -> new Actor(
+                        rs.getLong("Id"),
+                        rs.getString("Name"),
+                        rs.getString("Surname"),
+                        rs.getObject("Birthdate", LocalDate.class),
+                        rs.getObject("Deathdate", LocalDate.class),
+                        Gender.valueOf(rs.getString("Gender"))
+                ),
+                name
+        );
+    }
+
+    private Genre genreByName(final String name) {
+        return jdbcTemplate.queryForObject("SELECT * FROM GENRES WHERE Name = ?", (rs, rowNum) -> new Genre(rs.getInt("Id"), rs.getString("Name")), name);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.actor;
+
+import com.cafetamine.spring.data.jdbc.demo.SpringDataJdbcDemoApplicationTestsConfiguration;
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJdbcTest
+@Import({SpringDataJdbcDemoApplicationTestsConfiguration.class, RepositoryProperties.class, ActorBatchWriter.class})
+class ActorBatchWriterTest {
+
+    @Autowired private ActorBatchWriter batchWriter;
+    @Autowired private JdbcActorRepository repository;
+    @Autowired private RepositoryProperties properties;
+
+    private int batchSize;
+
+
+    @BeforeEach
+    void saveBatchSize() {
+        batchSize = properties.getBatch().getSize();
+    }
+
+    @AfterEach
+    void resetBatchSize() {
+        properties.getBatch().setSize(batchSize);
+    }
+
+    @Test
+    void insertAll_Empty() {
+        assertThat(batchWriter.insertAll(Collections.emptyList())).isEmpty();
+        assertThat(repository.count()).isEqualTo(6L);
+    }
+
+    @Test
+    void insertAll() {
+        final List<ActorEntity> saved = batchWriter.insertAll(Arrays.asList(
+                new ActorEntity(null, "Johnny", "Depp", LocalDate.of(1963, 6, 9), null, Gender.Male),
+                new ActorEntity(null, "Heath", "Ledger",  LocalDate.of(1979, 4, 4), LocalDate.of(2008, 1, 22), Gender.Male)
+        ));
+
+        assertThat(saved).extracting(ActorEntity::getSurname).containsExactly("Depp", "Ledger");
+        assertThat(saved).allSatisfy(actor -> assertThat(repository.findById(actor.getId())).hasValue(actor));
+    }
+
+    @ParameterizedTest @ValueSource(ints = {1, 7, 500})
+    void insertAll_KeepsInputOrderAcrossBatches(final int batchSize) {
+        properties.getBatch().setSize(batchSize);
+        final List<ActorEntity> actors = IntStream.range(0, 30)
+                                                  .mapToObj(i -> new ActorEntity(null, "Extra", "No. " + i, LocalDate.of(1990, 1, 1), null, Gender.Other))
+                                                  .collect(Collectors.toList());
+
+        final List<ActorEntity> saved = batchWriter.insertAll(actors);
+
+        assertThat(saved).extracting(ActorEntity::getSurname).containsExactlyElementsOf(
+                actors.stream().map(ActorEntity::getSurname).collect(Collectors.toList())
+        );
+        assertThat(saved).allSatisfy(actor -> assertThat(repository.findById(actor.getId())).hasValue(actor));
+        assertThat(saved).extracting(ActorEntity::getId).doesNotHaveDuplicates();
+    }
+
+}
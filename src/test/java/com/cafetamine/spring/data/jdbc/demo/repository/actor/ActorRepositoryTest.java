@@ -1,24 +1,38 @@
 package com.cafetamine.spring.data.jdbc.demo.repository.actor;
 
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorChangedEvent;
 import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
 
 import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.page.KeysetPage;
+import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieActorReference;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
 
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -26,7 +40,11 @@ import static org.mockito.Mockito.when;
 class ActorRepositoryTest {
 
     private static final JdbcActorRepository jdbcActorRepository = mock(JdbcActorRepository.class);
-    private static final IActorRepository actorRepository = new ActorRepository(jdbcActorRepository);
+    private static final ActorBatchWriter batchWriter = mock(ActorBatchWriter.class);
+    private static final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private static final IActorRepository actorRepository = new ActorRepository(jdbcActorRepository, mock(JdbcTemplate.class), new RepositoryProperties(), batchWriter, events);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
 
 
     private static final ActorEntity phoenixEntity = new ActorEntity(1L, "Joaquin", "Phoenix", LocalDate.of(1974, 10, 28), null, Gender.Male);
@@ -44,18 +62,79 @@ class ActorRepositoryTest {
 
     @ParameterizedTest @MethodSource("dataSetCreate")
     void create(final Actor domain, final ActorEntity entity) {
-        when(jdbcActorRepository.save(entity.withId(null))).thenReturn(entity);
+        when(batchWriter.insertAll(Collections.singletonList(entity.withId(null)))).thenReturn(Collections.singletonList(entity));
 
         assertThat(actorRepository.create(domain.withId(null))).isEqualTo(domain);
     }
 
     @ParameterizedTest @MethodSource("dataSetCreateAll")
     void createAll(final List<Actor> domain, final Collection<ActorEntity> entity) {
-        when(jdbcActorRepository.saveAll(entity)).thenReturn(entity);
+        when(jdbcActorRepository.findAllById(anyIterable())).thenReturn(entity);
 
         assertThat(actorRepository.createAll(domain)).containsExactlyElementsOf(domain);
     }
 
+    @Test
+    void createAll_UpdatesChangedActorsAndPublishesEvents() {
+        final ActorEntity changed = new ActorEntity(11L, "Heath", "Ledger", LocalDate.of(1979, 4, 4), LocalDate.of(2008, 1, 22), Gender.Male);
+        final ActorEntity unchanged = new ActorEntity(12L, "Gary", "Oldman", LocalDate.of(1958, 3, 21), null, Gender.Male);
+        when(jdbcActorRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(changed.withDeathdate(null), unchanged));
+
+        assertThat(actorRepository.createAll(Arrays.asList(changed.toDomain(), unchanged.toDomain())))
+                .containsExactly(changed.toDomain(), unchanged.toDomain());
+        verify(jdbcActorRepository).saveAll(argThat(actors -> List.of(changed).equals(new ArrayList<>((Collection<ActorEntity>) actors))));
+        verify(events).publishEvent(new ActorChangedEvent(11L));
+        verify(events, never()).publishEvent(new ActorChangedEvent(12L));
+    }
+
+    @Test
+    void createAll_NewActorsAreBatchInserted() {
+        when(batchWriter.insertAll(Arrays.asList(phoenixEntity.withId(null), knightleyEntity.withId(null))))
+                .thenReturn(Arrays.asList(phoenixEntity, knightleyEntity));
+        when(jdbcActorRepository.findAllById(anyIterable())).thenReturn(Collections.singletonList(deNiroEntity));
+
+        assertThat(actorRepository.createAll(Arrays.asList(phoenixDomain.withId(null), deNiroDomain, knightleyDomain.withId(null))))
+                .containsExactly(phoenixDomain, deNiroDomain, knightleyDomain);
+    }
+
+    @Test
+    void createAll_ReusesActorsWithExistingNaturalKey() {
+        final Actor depp = new Actor(null, "Johnny", "Depp", LocalDate.of(1963, 6, 9), null, Gender.Male);
+        final ActorEntity deppEntity = new ActorEntity(7L, "Johnny", "Depp", LocalDate.of(1963, 6, 9), null, Gender.Male);
+        final Actor youngerPhoenix = new Actor(null, "Joaquin", "Phoenix", LocalDate.of(2000, 1, 1), null, Gender.Male);
+        final ActorEntity youngerPhoenixEntity = new ActorEntity(8L, "Joaquin", "Phoenix", LocalDate.of(2000, 1, 1), null, Gender.Male);
+        when(jdbcActorRepository.findAllByNaturalKeyIn(anyCollection())).thenReturn(Collections.singletonList(phoenixEntity));
+        when(batchWriter.insertAll(Arrays.asList(deppEntity.withId(null), youngerPhoenixEntity.withId(null))))
+                .thenReturn(Arrays.asList(deppEntity, youngerPhoenixEntity));
+
+        assertThat(actorRepository.createAll(Arrays.asList(depp, phoenixDomain.withId(null), youngerPhoenix, depp)))
+                .containsExactly(deppEntity.toDomain(), phoenixDomain, youngerPhoenixEntity.toDomain(), deppEntity.toDomain());
+    }
+
+    @Test
+    void createAll_RecordsDeathdateOfExistingActor() {
+        final ActorEntity lawrenceEntity = new ActorEntity(10L, "Jennifer", "Lawrence", LocalDate.of(1990, 7, 15), null, Gender.Female);
+        final LocalDate deathdate = LocalDate.of(2050, 1, 1);
+        when(jdbcActorRepository.findAllByNaturalKeyIn(anyCollection())).thenReturn(Collections.singletonList(lawrenceEntity));
+        when(jdbcActorRepository.updateDeathdate(10L, deathdate)).thenReturn(true);
+
+        assertThat(actorRepository.createAll(Arrays.asList(lawrenceEntity.withId(null).withDeathdate(deathdate).toDomain(), lawrenceEntity.withId(null).toDomain())))
+                .containsExactly(lawrenceEntity.withDeathdate(deathdate).toDomain(), lawrenceEntity.withDeathdate(deathdate).toDomain());
+        verify(jdbcActorRepository).updateDeathdate(10L, deathdate);
+        verify(events).publishEvent(new ActorChangedEvent(10L));
+    }
+
+    @Test
+    void createAll_KeepsDeathdateOfExistingActorWhenInputHasNone() {
+        final ActorEntity ledgerEntity = new ActorEntity(9L, "Heath", "Ledger", LocalDate.of(1979, 4, 4), LocalDate.of(2008, 1, 22), Gender.Male);
+        when(jdbcActorRepository.findAllByNaturalKeyIn(anyCollection())).thenReturn(Collections.singletonList(ledgerEntity));
+
+        assertThat(actorRepository.createAll(Collections.singletonList(ledgerEntity.withId(null).withDeathdate(null).toDomain())))
+                .containsExactly(ledgerEntity.toDomain());
+        verify(jdbcActorRepository, never()).updateDeathdate(9L, null);
+        verify(events, never()).publishEvent(new ActorChangedEvent(9L));
+    }
+
     @ParameterizedTest @MethodSource("dataSetFindAll")
     void findAll(final Collection<Actor> domain, final Collection<ActorEntity> entity) {
         when(jdbcActorRepository.findAll()).thenReturn(entity);
@@ -63,6 +142,37 @@ class ActorRepositoryTest {
         assertThat(actorRepository.findAll()).containsExactlyElementsOf(domain);
     }
 
+    @Test
+    void streamAll() {
+        final RepositoryProperties properties = new RepositoryProperties();
+        properties.getCursor().setFetchSize(2);
+
+        try (final Stream<Actor> actors = new ActorRepository(jdbcActorRepository, jdbcTemplate, properties, batchWriter, events).streamAll()) {
+            assertThat(actors).containsExactly(
+                    phoenixDomain,
+                    deNiroDomain,
+                    beniginiDomain,
+                    bonacelliDomain,
+                    knightleyDomain,
+                    new Actor(6L, "Jennifer", "Lawrence", LocalDate.of(1990, 7, 15), null, Gender.Female)
+            );
+        }
+    }
+
+    @Test
+    void findPageAfter() {
+        when(jdbcActorRepository.findPageAfter(0L, 3)).thenReturn(Arrays.asList(phoenixEntity, deNiroEntity, beniginiEntity));
+        when(jdbcActorRepository.findPageAfter(2L, 3)).thenReturn(Arrays.asList(beniginiEntity, bonacelliEntity));
+
+        final KeysetPage<Actor> first = actorRepository.findPageAfter(null, 2);
+        assertThat(first.getItems()).containsExactly(phoenixDomain, deNiroDomain);
+        assertThat(first.hasNext()).isTrue();
+
+        final KeysetPage<Actor> second = actorRepository.findPageAfter(first.getContinuation(), 2);
+        assertThat(second.getItems()).containsExactly(beniginiDomain, bonacelliDomain);
+        assertThat(second.hasNext()).isFalse();
+    }
+
     @ParameterizedTest @MethodSource("dataSetFindById")
     void findById(final Long id, final Actor domain, final ActorEntity entity) {
         when(jdbcActorRepository.findById(id)).thenReturn(Optional.of(entity));
@@ -77,6 +187,33 @@ class ActorRepositoryTest {
         assertThat(actorRepository.findById(Long.MAX_VALUE)).isEmpty();
     }
 
+    @ParameterizedTest @MethodSource("dataSetFindAllById")
+    void findAllById(final Set<Long> ids, final Iterable<ActorEntity> entity, final Map<Long, Actor> domain) {
+        when(jdbcActorRepository.findAllById(anyIterable())).thenReturn(entity);
+
+        assertThat(actorRepository.findAllById(ids)).isEqualTo(domain);
+    }
+
+    @Test
+    void findAllByReference() {
+        when(jdbcActorRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(phoenixEntity, deNiroEntity));
+
+        assertThat(actorRepository.findAllByReference(Map.of(
+                "Arthur Fleck", new MovieActorReference(1L),
+                "Murray Franklin", new MovieActorReference(2L)
+        ))).isEqualTo(Map.of("Arthur Fleck", phoenixDomain, "Murray Franklin", deNiroDomain));
+    }
+
+    @Test
+    void findAllByReference_ThrowsDataIntegrityException() {
+        when(jdbcActorRepository.findAllById(anyIterable())).thenReturn(Collections.emptyList());
+
+        assertThat(catchThrowableOfType(() ->
+                actorRepository.findAllByReference(Map.of("Non Existing", new MovieActorReference(Long.MAX_VALUE))),
+                DataIntegrityException.class
+        )).isNotNull();
+    }
+
     @ParameterizedTest @MethodSource("dataSetFindByFullname")
     void findByFullname(final String fullname, final Actor domain, final ActorEntity entity) {
         when(jdbcActorRepository.findByFullname(fullname)).thenReturn(Optional.of(entity));
@@ -91,12 +228,25 @@ class ActorRepositoryTest {
         assertThat(actorRepository.findByFullname("Non Existing")).isEmpty();
     }
 
+    @Test
+    void findByFullnamePrefix() {
+        when(jdbcActorRepository.findAllByFullnamePrefix("Rob", 2)).thenReturn(Arrays.asList(deNiroEntity, beniginiEntity));
+
+        assertThat(actorRepository.findByFullnamePrefix("Rob", 2)).containsExactly(deNiroDomain, beniginiDomain);
+    }
+
+    @Test
+    void findByFullnamePrefix_ThrowsForNonPositiveLimit() {
+        assertThat(catchThrowableOfType(() -> actorRepository.findByFullnamePrefix("Rob", 0), IllegalArgumentException.class)).isNotNull();
+    }
+
     @ParameterizedTest @MethodSource("dataSetActorsUpdateDeathdate")
     void updateDeathdate(final Long id, final LocalDate deathdate, final boolean result, final Actor domain, final ActorEntity entity) {
         when(jdbcActorRepository.updateDeathdate(id, deathdate)).thenReturn(result);
         when(jdbcActorRepository.findById(id)).thenReturn(Optional.of(entity.withDeathdate(deathdate)));
 
         assertThat(actorRepository.updateDeathdate(id, deathdate)).hasValue(domain.withDeathdate(deathdate));
+        verify(events).publishEvent(new ActorChangedEvent(id));
     }
 
     @Test
@@ -104,6 +254,7 @@ class ActorRepositoryTest {
         when(jdbcActorRepository.updateDeathdate(Long.MAX_VALUE, LocalDate.now())).thenReturn(false);
 
         assertThat(actorRepository.updateDeathdate(Long.MAX_VALUE, LocalDate.now())).isEmpty();
+        verify(events, never()).publishEvent(new ActorChangedEvent(Long.MAX_VALUE));
     }
 
     @ParameterizedTest @MethodSource("dataSetFindAllByGender")
@@ -151,6 +302,14 @@ class ActorRepositoryTest {
         );
     }
 
+    static Stream<Arguments> dataSetFindAllById() {
+        return Stream.of(
+                Arguments.of(Collections.emptySet(), Collections.emptyList(), Collections.emptyMap()),
+                Arguments.of(Set.of(1L), Collections.singletonList(phoenixEntity), Map.of(1L, phoenixDomain)),
+                Arguments.of(Set.of(1L, 2L, Long.MAX_VALUE), Arrays.asList(phoenixEntity, deNiroEntity), Map.of(1L, phoenixDomain, 2L, deNiroDomain))
+        );
+    }
+
     static Stream<Arguments> dataSetFindByFullname() {
         return Stream.of(
                 Arguments.of("Joaquin Phoenix", phoenixDomain, phoenixEntity),
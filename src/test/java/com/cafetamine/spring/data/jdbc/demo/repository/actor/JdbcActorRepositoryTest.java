@@ -1,7 +1,12 @@
 package com.cafetamine.spring.data.jdbc.demo.repository.actor;
 
 import com.cafetamine.spring.data.jdbc.demo.SpringDataJdbcDemoApplicationTestsConfiguration;
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorNaturalKey;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.DataSourceInstrumentation;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.SlowQueryLog;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.Statements;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -12,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.relational.core.conversion.DbActionExecutionException;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -23,7 +29,7 @@ import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
 
 
 @DataJdbcTest
-@Import(SpringDataJdbcDemoApplicationTestsConfiguration.class)
+@Import({SpringDataJdbcDemoApplicationTestsConfiguration.class, RepositoryProperties.class, SlowQueryLog.class, DataSourceInstrumentation.class})
 class JdbcActorRepositoryTest {
 
     private static final ActorEntity phoenixEntity = new ActorEntity(1L, "Joaquin", "Phoenix", LocalDate.of(1974, 10, 28), null, Gender.Male);
@@ -35,6 +41,7 @@ class JdbcActorRepositoryTest {
 
 
     @Autowired private JdbcActorRepository repository;
+    @Autowired private JdbcTemplate jdbcTemplate;
 
 
     @Test
@@ -153,6 +160,69 @@ class JdbcActorRepositoryTest {
         assertThat(repository.findAllByGender(gender.name())).containsExactlyElementsOf(expected);
     }
 
+    @Test
+    void findByFullname_IgnoresCase() {
+        assertThat(repository.findByFullname("joaquin PHOENIX")).hasValue(phoenixEntity);
+    }
+
+    @Test
+    void findByFullname_UsesFullNameIndex() {
+        assertThat(Statements.explain(jdbcTemplate, "FROM ACTORS", () -> repository.findByFullname("Joaquin Phoenix")))
+                .contains("ACTORS_FULL_NAME_IDX");
+    }
+
+    @ParameterizedTest @MethodSource("dataSetFindAllByFullnamePrefix")
+    void findAllByFullnamePrefix(final String prefix, final int limit, final Iterable<ActorEntity> expected) {
+        assertThat(repository.findAllByFullnamePrefix(prefix, limit)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void findAllByFullnamePrefix_UsesFullNameIndex() {
+        assertThat(Statements.explain(jdbcTemplate, "FROM ACTORS", () -> repository.findAllByFullnamePrefix("Rob", 10)))
+                .contains("ACTORS_FULL_NAME_IDX");
+    }
+
+    @Test
+    void save_ThrowsForDuplicateNaturalKey() {
+        assertThat(catchThrowableOfType(() ->
+                repository.save(phoenixEntity.withId(null)),
+                DbActionExecutionException.class
+        )).isNotNull();
+    }
+
+    @Test
+    void findAllByNaturalKeyIn() {
+        assertThat(repository.findAllByNaturalKeyIn(Arrays.asList(
+                phoenixEntity.getNaturalKey(),
+                knightleyEntity.getNaturalKey(),
+                new ActorNaturalKey("Joaquin", "Phoenix", LocalDate.of(2000, 1, 1), Gender.Male),
+                new ActorNaturalKey("Johnny", "Depp", LocalDate.of(1963, 6, 9), Gender.Male)
+        ))).containsExactlyInAnyOrder(phoenixEntity, knightleyEntity);
+        assertThat(repository.findAllByNaturalKeyIn(Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    void findAllByNaturalKeyIn_UsesNaturalKeyIndex() {
+        final String plan = Statements.explain(
+                jdbcTemplate,
+                "FROM (VALUES",
+                () -> repository.findAllByNaturalKeyIn(Arrays.asList(phoenixEntity.getNaturalKey(), knightleyEntity.getNaturalKey()))
+        );
+
+        assertThat(plan).contains("ACTORS_NATURAL_KEY_IDX: GENDER = KEYS.GENDER")
+                        .contains("BIRTHDATE = KEYS.BIRTHDATE")
+                        .contains("SURNAME = KEYS.SURNAME")
+                        .contains("NAME = KEYS.NAME");
+    }
+
+    @Test
+    void findPageAfter() {
+        assertThat(repository.findPageAfter(0L, 2)).containsExactly(phoenixEntity, deNiroEntity);
+        assertThat(repository.findPageAfter(2L, 2)).containsExactly(beniginiEntity, bonacelliEntity);
+        assertThat(repository.findPageAfter(5L, 2)).containsExactly(lawrenceEntity);
+        assertThat(repository.findPageAfter(6L, 2)).isEmpty();
+    }
+
     @ParameterizedTest @MethodSource("dataSetUpdateDeathdate")
     void updateDeathdate(final Long id, final LocalDate deathdate, final boolean successFlag) {
         final boolean isSuccess = repository.updateDeathdate(id, deathdate); // sooorryy
@@ -223,6 +293,16 @@ class JdbcActorRepositoryTest {
         );
     }
 
+    static Stream<Arguments> dataSetFindAllByFullnamePrefix() {
+        return Stream.of(
+                Arguments.of("Rob", 10, Arrays.asList(deNiroEntity, beniginiEntity)),
+                Arguments.of("rob", 1, Collections.singletonList(deNiroEntity)),
+                Arguments.of("Roberto ", 10, Collections.singletonList(beniginiEntity)),
+                Arguments.of("", 2, Arrays.asList(lawrenceEntity, phoenixEntity)),
+                Arguments.of("Non Existing", 10, Collections.emptyList())
+        );
+    }
+
     static Stream<Arguments> dataSetFindAllByGender() {
         return Stream.of(
                 Arguments.of(Gender.Male, Arrays.asList(phoenixEntity, deNiroEntity, beniginiEntity, bonacelliEntity)),
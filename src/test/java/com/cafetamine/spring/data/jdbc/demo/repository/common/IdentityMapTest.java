@@ -0,0 +1,87 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.common;
+
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class IdentityMapTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(IdentityMap.class);
+    }
+
+    @Test
+    void longMap_PutIfAbsent() {
+        final LongMap<String> map = new LongMap<>();
+
+        for (long key = -5_000; key < 5_000; key++) {
+            assertThat(map.putIfAbsent(key * 31, "value " + key)).isEqualTo("value " + key);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(map.putIfAbsent(31, "other")).isEqualTo("value 1");
+        assertThat(map.get(-31 * 5_000)).isEqualTo("value -5000");
+        assertThat(map.get(1)).isNull();
+        assertThat(map.size()).isEqualTo(10_000);
+    }
+
+    @Test
+    void canonical() {
+        final IdentityMap identityMap = new IdentityMap();
+        final Genre drama = new Genre(1, "drama");
+
+        assertThat(identityMap.canonical(drama)).isSameAs(drama);
+        assertThat(identityMap.canonical(new Genre(1, "drama"))).isSameAs(drama);
+        assertThat(identityMap.genre(1)).isSameAs(drama);
+        assertThat(identityMap.actor(1L)).isNull();
+    }
+
+    @Test
+    void current_OutsideTransaction() {
+        assertThat(IdentityMap.current()).isNotSameAs(IdentityMap.current());
+    }
+
+    @Test
+    void current_InsideTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        final IdentityMap identityMap = IdentityMap.current();
+        assertThat(IdentityMap.current()).isSameAs(identityMap);
+
+        completeTransaction();
+        assertThat(TransactionSynchronizationManager.hasResource(IdentityMap.class)).isFalse();
+    }
+
+    @Test
+    void invalidate() {
+        TransactionSynchronizationManager.initSynchronization();
+        final IdentityMap identityMap = IdentityMap.current();
+
+        IdentityMap.invalidate();
+
+        assertThat(IdentityMap.current()).isNotSameAs(identityMap);
+        completeTransaction();
+        assertThat(TransactionSynchronizationManager.hasResource(IdentityMap.class)).isFalse();
+    }
+
+    private static void completeTransaction() {
+        final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+}
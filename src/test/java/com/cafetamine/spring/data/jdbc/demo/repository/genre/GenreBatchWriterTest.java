@@ -0,0 +1,73 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.genre;
+
+import com.cafetamine.spring.data.jdbc.demo.SpringDataJdbcDemoApplicationTestsConfiguration;
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJdbcTest
+@Import({SpringDataJdbcDemoApplicationTestsConfiguration.class, RepositoryProperties.class, GenreBatchWriter.class})
+class GenreBatchWriterTest {
+
+    @Autowired private GenreBatchWriter batchWriter;
+    @Autowired private JdbcGenreRepository repository;
+    @Autowired private RepositoryProperties properties;
+
+    private int batchSize;
+
+
+    @BeforeEach
+    void saveBatchSize() {
+        batchSize = properties.getBatch().getSize();
+    }
+
+    @AfterEach
+    void resetBatchSize() {
+        properties.getBatch().setSize(batchSize);
+    }
+
+    @Test
+    void mergeAll_Empty() {
+        batchWriter.mergeAll(Collections.emptyList());
+
+        assertThat(repository.count()).isEqualTo(6L);
+    }
+
+    @Test
+    void mergeAll_KeepsExistingGenres() {
+        batchWriter.mergeAll(Arrays.asList("crime", "animation"));
+
+        assertThat(repository.count()).isEqualTo(7L);
+        assertThat(repository.findByName("crime")).hasValue(new GenreEntity(1, "crime"));
+        assertThat(repository.findByName("animation")).isPresent();
+    }
+
+    @ParameterizedTest @ValueSource(ints = {1, 7, 500})
+    void mergeAll_AcrossBatches(final int batchSize) {
+        properties.getBatch().setSize(batchSize);
+        final List<String> names = IntStream.range(0, 30).mapToObj(i -> "genre " + i).collect(Collectors.toList());
+
+        batchWriter.mergeAll(names);
+
+        assertThat(repository.findAllByNameIn(names)).extracting(GenreEntity::getName).containsExactlyInAnyOrderElementsOf(names);
+        assertThat(repository.findAllByNameIn(names)).extracting(GenreEntity::getId).doesNotHaveDuplicates();
+    }
+
+}
@@ -2,9 +2,9 @@ package com.cafetamine.spring.data.jdbc.demo.repository.genre;
 
 import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
-import com.cafetamine.spring.data.jdbc.demo.core.application.genre.IGenreRepository;
 
 import com.cafetamine.spring.data.jdbc.demo.repository.movie.MovieGenreReference;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.junit.jupiter.params.ParameterizedTest;
@@ -24,7 +24,8 @@ import static org.mockito.Mockito.*;
 class GenreRepositoryTest {
 
     private static final JdbcGenreRepository jdbcRepository = mock(JdbcGenreRepository.class);
-    private static final IGenreRepository repository = new GenreRepository(jdbcRepository);
+    private static final GenreBatchWriter batchWriter = mock(GenreBatchWriter.class);
+    private GenreRepository repository;
 
 
     private static final GenreEntity crimeEntity = new GenreEntity(1, "crime");
@@ -42,6 +43,13 @@ class GenreRepositoryTest {
     private static final Genre sifiDomain = new Genre(6, "si-fi");
 
 
+    @BeforeEach
+    void beforeEach() {
+        reset(jdbcRepository, batchWriter);
+        repository = new GenreRepository(jdbcRepository, batchWriter);
+    }
+
+
     @ParameterizedTest @MethodSource("dataSetFindById")
     void findById(final Integer id, final GenreEntity entity, final Genre domain) {
         when(jdbcRepository.findById(id)).thenReturn(Optional.of(entity));
@@ -56,6 +64,13 @@ class GenreRepositoryTest {
         assertThat(repository.findById(Integer.MAX_VALUE)).isEmpty();
     }
 
+    @ParameterizedTest @MethodSource("dataSetFindAllById")
+    void findAllById(final Set<Integer> ids, final Iterable<GenreEntity> entity, final Map<Integer, Genre> domain) {
+        when(jdbcRepository.findAllById(anyIterable())).thenReturn(entity);
+
+        assertThat(repository.findAllById(ids)).isEqualTo(domain);
+    }
+
     @ParameterizedTest @MethodSource("dataSetFindByName")
     void findByName(final String name, final GenreEntity entity, final Genre domain) {
         when(jdbcRepository.findByName(name)).thenReturn(Optional.of(entity));
@@ -72,24 +87,102 @@ class GenreRepositoryTest {
 
     @Test
     void create() {
-        when(jdbcRepository.findByName("animation")).thenReturn(Optional.of(new GenreEntity(10, "animation")));
+        when(jdbcRepository.findAllByNameIn(Collections.singletonList("animation"))).thenReturn(Collections.singletonList(new GenreEntity(10, "animation")));
 
         assertThat(repository.create(new Genre(null, "animation"))).isEqualTo(new Genre(10, "animation"));
+        verify(batchWriter, never()).mergeAll(any());
     }
 
     @Test
     void create_NonExisting() {
-        when(jdbcRepository.findByName("animation")).thenReturn(Optional.empty());
-        when(jdbcRepository.save(new GenreEntity(null, "animation"))).thenReturn(new GenreEntity(10, "animation"));
+        when(jdbcRepository.findAllByNameIn(Collections.singletonList("animation")))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(new GenreEntity(10, "animation")));
+
+        assertThat(repository.create(new Genre(null, "animation"))).isEqualTo(new Genre(10, "animation"));
+        verify(batchWriter, times(1)).mergeAll(Set.of("animation"));
+    }
+
+    @Test
+    void findById_ServedByPreloadedDictionary() {
+        when(jdbcRepository.findAll()).thenReturn(Arrays.asList(crimeEntity, dramaEntity));
+
+        assertThat(repository.findById(1)).hasValue(crimeDomain);
+        assertThat(repository.findByName("drama")).hasValue(dramaDomain);
+        assertThat(repository.getDictionary().getHits()).isEqualTo(2L);
+        assertThat(repository.getDictionary().getMisses()).isEqualTo(0L);
+        verify(jdbcRepository, times(1)).findAll();
+        verify(jdbcRepository, never()).findById(any());
+        verify(jdbcRepository, never()).findByName(any());
+    }
+
+    @Test
+    void findById_MissIsRememberedByDictionary() {
+        when(jdbcRepository.findById(1)).thenReturn(Optional.of(crimeEntity));
+
+        assertThat(repository.findById(1)).hasValue(crimeDomain);
+        assertThat(repository.findById(1)).hasValue(crimeDomain);
+        assertThat(repository.getDictionary().getMisses()).isEqualTo(1L);
+        assertThat(repository.getDictionary().getHits()).isEqualTo(1L);
+        verify(jdbcRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void create_UpdatesDictionary() {
+        when(jdbcRepository.findAllByNameIn(Collections.singletonList("animation")))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(new GenreEntity(10, "animation")));
+
+        repository.create(new Genre(null, "animation"));
 
         assertThat(repository.create(new Genre(null, "animation"))).isEqualTo(new Genre(10, "animation"));
+        assertThat(repository.findById(10)).hasValue(new Genre(10, "animation"));
+        verify(jdbcRepository, times(2)).findAllByNameIn(any());
+        verify(batchWriter, times(1)).mergeAll(any());
+        verify(jdbcRepository, never()).findById(any());
+    }
+
+    @Test
+    void findAllById_FetchesOnlyDictionaryMisses() {
+        when(jdbcRepository.findAll()).thenReturn(Collections.singletonList(crimeEntity));
+        when(jdbcRepository.findAllById(Collections.singletonList(2))).thenReturn(Collections.singletonList(dramaEntity));
+
+        assertThat(repository.findAllById(Set.of(1, 2))).isEqualTo(Map.of(1, crimeDomain, 2, dramaDomain));
+        verify(jdbcRepository, times(1)).findAllById(Collections.singletonList(2));
     }
 
     @ParameterizedTest @MethodSource("dataSetCreateAll")
-    void createAll(final Iterable<GenreEntity> entity, final List<Genre> domain) {
-        entity.forEach(genre -> when(jdbcRepository.findByName(genre.getName())).thenReturn(Optional.of(genre)));
+    void createAll(final List<GenreEntity> entity, final List<Genre> domain) {
+        when(jdbcRepository.findAllByNameIn(anyCollection())).thenReturn(Collections.emptyList()).thenReturn(entity);
+
+        assertThat(repository.createAll(domain)).containsExactlyElementsOf(domain);
+    }
+
+    @Test
+    void createAll_ResolvesNamesInBulkAndKeepsInputOrder() {
+        when(jdbcRepository.findAll()).thenReturn(Collections.singletonList(crimeEntity));
+        when(jdbcRepository.findAllByNameIn(anyCollection()))
+                .thenReturn(Collections.singletonList(dramaEntity))
+                .thenReturn(Collections.singletonList(westernEntity));
+
+        assertThat(repository.createAll(Arrays.asList(
+                new Genre(null, "western"),
+                new Genre(null, "crime"),
+                new Genre(null, "drama"),
+                new Genre(null, "western")
+        ))).containsExactly(westernDomain, crimeDomain, dramaDomain, westernDomain);
+        verify(jdbcRepository, times(2)).findAllByNameIn(any());
+        verify(batchWriter, times(1)).mergeAll(Set.of("western"));
+    }
 
-        assertThat(repository.createAll(domain)).containsAll(domain);
+    @Test
+    void createAll_ThrowsDataIntegrityException() {
+        when(jdbcRepository.findAllByNameIn(anyCollection())).thenReturn(Collections.emptyList());
+
+        assertThat(catchThrowableOfType(() ->
+                repository.createAll(Collections.singletonList(new Genre(null, "animation"))),
+                DataIntegrityException.class
+        )).isNotNull();
     }
 
     @ParameterizedTest @MethodSource("dataSetFindAllByReference")
@@ -98,14 +191,14 @@ class GenreRepositoryTest {
             final Iterable<GenreEntity> entity,
             final Iterable<Genre> domain
     ) {
-        entity.forEach(genre -> when(jdbcRepository.findById(genre.getId())).thenReturn(Optional.of(genre)));
+        when(jdbcRepository.findAllById(anyIterable())).thenReturn(entity);
 
-        assertThat(repository.findAllByReference(references)).containsAll(domain);
+        assertThat(repository.findAllByReference(references)).containsExactlyElementsOf(domain);
     }
 
     @Test
     void findAllByReference_ThrowsDataIntegrityException() {
-        when(jdbcRepository.findById(Integer.MAX_VALUE)).thenReturn(Optional.empty());
+        when(jdbcRepository.findAllById(anyIterable())).thenReturn(Collections.emptyList());
 
         assertThat(catchThrowableOfType(() ->
                 repository.findAllByReference(Collections.singletonList(new MovieGenreReference(Integer.MAX_VALUE))),
@@ -125,6 +218,14 @@ class GenreRepositoryTest {
         );
     }
 
+    static Stream<Arguments> dataSetFindAllById() {
+        return Stream.of(
+                Arguments.of(Collections.emptySet(), Collections.emptyList(), Collections.emptyMap()),
+                Arguments.of(Set.of(1), Collections.singletonList(crimeEntity), Map.of(1, crimeDomain)),
+                Arguments.of(Set.of(1, 2, Integer.MAX_VALUE), Arrays.asList(crimeEntity, dramaEntity), Map.of(1, crimeDomain, 2, dramaDomain))
+        );
+    }
+
     static Stream<Arguments> dataSetFindByName() {
         return Stream.of(
                 Arguments.of("crime",    crimeEntity,    crimeDomain),
@@ -160,6 +261,11 @@ class GenreRepositoryTest {
                         Arrays.asList(new MovieGenreReference(1), new MovieGenreReference(2)),
                         Arrays.asList(crimeEntity, dramaEntity),
                         Arrays.asList(crimeDomain, dramaDomain)
+                ),
+                Arguments.of(
+                        Arrays.asList(new MovieGenreReference(2), new MovieGenreReference(1)),
+                        Arrays.asList(crimeEntity, dramaEntity),
+                        Arrays.asList(dramaDomain, crimeDomain)
                 )
         );
     }
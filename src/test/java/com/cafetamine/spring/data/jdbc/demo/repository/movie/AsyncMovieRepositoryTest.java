@@ -0,0 +1,127 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.genre.IGenreRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IAsyncMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+@SpringBootTest
+class AsyncMovieRepositoryTest {
+
+    @Autowired IAsyncMovieRepository asyncMovieRepository;
+    @Autowired IMovieRepository movieRepository;
+    @Autowired JdbcMovieRepository jdbcMovieRepository;
+    @Autowired RepositoryProperties properties;
+
+
+    @Test
+    void findAll() throws Exception {
+        assertThat(asyncMovieRepository.findAll().get(5, TimeUnit.SECONDS)).isEqualTo(movieRepository.findAll());
+    }
+
+    @Test
+    void findAll_HydratesBatchesInParallel() throws Exception {
+        final List<Movie> expected = movieRepository.findAll();
+        assertThat(expected).hasSizeGreaterThan(1);
+        final CountDownLatch allStarted = new CountDownLatch(expected.size());
+        final IActorRepository actorRepository = mock(IActorRepository.class);
+        final IGenreRepository genreRepository = mock(IGenreRepository.class);
+        when(actorRepository.findAllById(anySet())).thenAnswer(invocation -> awaitAll(allStarted, expected.stream()
+                .flatMap(movie -> movie.getActors().values().stream()).distinct().collect(Collectors.toMap(Actor::getId, actor -> actor))));
+        when(genreRepository.findAllById(anySet())).thenAnswer(invocation -> expected.stream()
+                .flatMap(movie -> movie.getGenres().stream()).distinct().collect(Collectors.toMap(Genre::getId, genre -> genre)));
+        final ExecutorService executor = Executors.newFixedThreadPool(expected.size() + 1);
+        final int batchSize = properties.getCursor().getHydrationBatchSize();
+        properties.getCursor().setHydrationBatchSize(1);
+        try {
+            final IAsyncMovieRepository repository = new AsyncMovieRepository(jdbcMovieRepository, actorRepository, genreRepository, properties, executor);
+
+            assertThat(repository.findAll().get(5, TimeUnit.SECONDS)).isEqualTo(expected);
+        } finally {
+            properties.getCursor().setHydrationBatchSize(batchSize);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findById() throws Exception {
+        assertThat(asyncMovieRepository.findById(1L).get(5, TimeUnit.SECONDS)).isEqualTo(movieRepository.findById(1L));
+    }
+
+    @Test
+    void findById_NonExisting() throws Exception {
+        assertThat(asyncMovieRepository.findById(Long.MAX_VALUE).get(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    void findAllByGenre() throws Exception {
+        final Genre drama = new Genre(2, "drama");
+
+        assertThat(asyncMovieRepository.findAllByGenre(drama).get(5, TimeUnit.SECONDS))
+                .containsExactlyInAnyOrderElementsOf(movieRepository.findAllByGenre(drama));
+    }
+
+    @Test
+    void findAllByActor() throws Exception {
+        final Actor phoenix = movieRepository.findById(1L).map(movie -> movie.getActors().get("Arthur Fleck")).orElseThrow();
+
+        assertThat(asyncMovieRepository.findAllByActor(phoenix).get(5, TimeUnit.SECONDS))
+                .containsExactlyElementsOf(movieRepository.findAllByActor(phoenix));
+    }
+
+    @Test
+    void findById_ResolvesActorsAndGenresConcurrently() throws Exception {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final IActorRepository actorRepository = mock(IActorRepository.class);
+        final IGenreRepository genreRepository = mock(IGenreRepository.class);
+        final Optional<Movie> expected = movieRepository.findById(1L);
+        when(actorRepository.findAllById(anySet())).thenAnswer(invocation -> awaitAll(bothStarted, expected.orElseThrow().getActors()
+                .values().stream().collect(Collectors.toMap(Actor::getId, actor -> actor))));
+        when(genreRepository.findAllById(anySet())).thenAnswer(invocation -> awaitAll(bothStarted, expected.orElseThrow().getGenres()
+                .stream().collect(Collectors.toMap(Genre::getId, genre -> genre))));
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final IAsyncMovieRepository repository = new AsyncMovieRepository(jdbcMovieRepository, actorRepository, genreRepository, properties, executor);
+
+            assertThat(repository.findById(1L).get(5, TimeUnit.SECONDS)).isEqualTo(expected);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    private static <T> Map<?, T> awaitAll(final CountDownLatch latch, final Map<?, T> result) throws InterruptedException, ExecutionException {
+        latch.countDown();
+        if (!latch.await(Duration.ofSeconds(5).toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new ExecutionException("Lookups did not overlap", null);
+        }
+        return result;
+    }
+
+}
@@ -1,6 +1,11 @@
 package com.cafetamine.spring.data.jdbc.demo.repository.movie;
 
 import com.cafetamine.spring.data.jdbc.demo.SpringDataJdbcDemoApplicationTestsConfiguration;
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.MovieSummary;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.DataSourceInstrumentation;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.SlowQueryLog;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.Statements;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -10,11 +15,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -22,7 +30,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 
 @DataJdbcTest
-@Import(SpringDataJdbcDemoApplicationTestsConfiguration.class)
+@Import({SpringDataJdbcDemoApplicationTestsConfiguration.class, RepositoryProperties.class, SlowQueryLog.class, DataSourceInstrumentation.class})
 class JdbcMovieRepositoryTest {
 
     private static final MovieGenreReference crimeRef = new MovieGenreReference(1);
@@ -38,6 +46,7 @@ class JdbcMovieRepositoryTest {
 
 
     @Autowired JdbcMovieRepository repository;
+    @Autowired JdbcTemplate jdbcTemplate;
 
 
     private static final MovieAggregate jocker = new MovieAggregate(
@@ -64,6 +73,9 @@ class JdbcMovieRepositoryTest {
             Arrays.asList(comedyRef, dramaRef)
     );
 
+    private static final MovieSummary jockerSummary = new MovieSummary(1L, "Jocker", Duration.ofSeconds(122L), LocalDate.of(2019, 4, 19));
+    private static final MovieSummary nightSummary = new MovieSummary(2L, "Night on Earth", Duration.ofSeconds(129L), LocalDate.of(1991, 12, 12));
+
 
     @Test
     void save() {
@@ -164,12 +176,61 @@ class JdbcMovieRepositoryTest {
 
     @ParameterizedTest @MethodSource("dataSetFindByGenreId")
     void findByGenreId(final Integer genreId, final Iterable<MovieAggregate> expected) {
-        assertThat(repository.findAllByGenreId(genreId)).containsAll(expected);
+        assertThat(repository.findAllByGenreId(genreId)).containsExactlyInAnyOrderElementsOf(expected);
     }
 
     @ParameterizedTest @MethodSource("dataSetFindByActorId")
     void findByActorId(final Long actorId, final Iterable<MovieAggregate> expected) {
-        assertThat(repository.findAllByActorId(actorId)).containsAll(expected);
+        assertThat(repository.findAllByActorId(actorId)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @ParameterizedTest @MethodSource("dataSetFindIdsAfter")
+    void findIdsAfter(final Long lastId, final int limit, final List<Long> expected) {
+        assertThat(repository.findIdsAfter(lastId, limit)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void findIdsByReleaseDate() {
+        assertThat(repository.findIdsByReleaseDate(10)).containsExactly(2L, 1L);
+        assertThat(repository.findIdsByReleaseDate(1)).containsExactly(2L);
+    }
+
+    @Test
+    void findIdsByReleaseDateAfter() {
+        assertThat(repository.findIdsByReleaseDateAfter(LocalDate.of(1991, 12, 12), 2L, 10)).containsExactly(1L);
+        assertThat(repository.findIdsByReleaseDateAfter(LocalDate.of(1991, 12, 12), 1L, 10)).containsExactly(2L, 1L);
+        assertThat(repository.findIdsByReleaseDateAfter(LocalDate.of(2019, 4, 19), 1L, 10)).isEmpty();
+    }
+
+    @Test
+    void findAllSummaries() {
+        assertThat(repository.findAllSummaries()).containsExactly(jockerSummary, nightSummary);
+    }
+
+    @Test
+    void findSummariesByGenreId() {
+        assertThat(repository.findSummariesByGenreId(2)).containsExactly(jockerSummary, nightSummary);
+        assertThat(repository.findSummariesByGenreId(4)).containsExactly(nightSummary);
+        assertThat(repository.findSummariesByGenreId(Integer.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void findSummariesAfter() {
+        assertThat(repository.findSummariesAfter(0L, 1)).containsExactly(jockerSummary);
+        assertThat(repository.findSummariesAfter(1L, 10)).containsExactly(nightSummary);
+        assertThat(repository.findSummariesAfter(2L, 10)).isEmpty();
+    }
+
+    @Test
+    void findByGenreId_UsesGenreIndex() {
+        assertThat(Statements.explain(jdbcTemplate, "WHERE MOVIE_GENRES.GenreId", () -> repository.findAllByGenreId(2)))
+                .contains("MOVIE_GENRES_GENRE_IDX");
+    }
+
+    @Test
+    void findByActorId_UsesActorIndex() {
+        assertThat(Statements.explain(jdbcTemplate, "WHERE MOVIE_ACTORS.ActorId", () -> repository.findAllByActorId(2L)))
+                .contains("MOVIE_ACTORS_ACTOR_IDX");
     }
 
 
@@ -219,11 +280,21 @@ class JdbcMovieRepositoryTest {
         );
     }
 
+    static Stream<Arguments> dataSetFindIdsAfter() {
+        return Stream.of(
+                Arguments.of(0L, 10, Arrays.asList(1L, 2L)),
+                Arguments.of(0L, 1, Collections.singletonList(1L)),
+                Arguments.of(1L, 10, Collections.singletonList(2L)),
+                Arguments.of(2L, 10, Collections.emptyList())
+        );
+    }
+
     static  Stream<Arguments> dataSetFindByActorId() {
         return Stream.of(
                 Arguments.of(Long.MAX_VALUE, Collections.emptySet()),
                 Arguments.of(1L, Collections.singleton(jocker)),
-                Arguments.of(3L, Collections.singleton(night))
+                Arguments.of(3L, Collections.singleton(night)),
+                Arguments.of(6L, Collections.emptySet())
                 // TODO test for multiple shared actors
         );
     }
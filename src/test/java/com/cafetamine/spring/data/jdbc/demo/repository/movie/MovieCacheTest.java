@@ -0,0 +1,164 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.ActorChangedEvent;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class MovieCacheTest {
+
+    private static final Actor phoenix = new Actor(1L, "Joaquin", "Phoenix", LocalDate.of(1974, 10, 28), null, Gender.Male);
+    private static final Actor deNiro = new Actor(2L, "Robert", "De Niro", LocalDate.of(1943, 8, 17), null, Gender.Male);
+    private static final Actor benigini = new Actor(3L, "Roberto", "Benigini", LocalDate.of(1952, 10, 27), null, Gender.Male);
+
+    private final RepositoryProperties properties = new RepositoryProperties();
+    private final MovieCache cache = new MovieCache(properties);
+
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_Miss() {
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void put_ThenGet() {
+        cache.put(movie(1L, phoenix, deNiro), cache.generation());
+
+        assertThat(cache.get(1L)).hasValue(movie(1L, phoenix, deNiro));
+        assertThat(cache.getHitRatio()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_ReturnsCopy() {
+        cache.put(movie(1L, phoenix), cache.generation());
+
+        cache.get(1L).orElseThrow().getActors().put("role 1", phoenix.withDeathdate(LocalDate.now()));
+
+        assertThat(cache.get(1L).orElseThrow().getActors().get("role 1").getDeathdate()).isNull();
+    }
+
+    @Test
+    void put_Disabled() {
+        properties.getCache().setEnabled(false);
+
+        cache.put(movie(1L, phoenix), cache.generation());
+
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void put_SkipsLoadsOlderThanLastInvalidation() {
+        final long loadedAt = cache.generation();
+        cache.onActorChanged(new ActorChangedEvent(phoenix.getId()));
+
+        cache.put(movie(1L, phoenix), loadedAt);
+
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsedOverMaxSize() {
+        properties.getCache().setMaxSize(DataSize.ofBytes(MovieCache.weigh(movie(1L, phoenix)) + MovieCache.weigh(movie(3L, benigini))));
+        cache.put(movie(1L, phoenix), cache.generation());
+        cache.put(movie(2L, deNiro), cache.generation());
+        cache.get(1L);
+
+        cache.put(movie(3L, benigini), cache.generation());
+
+        assertThat(cache.get(1L)).isPresent();
+        assertThat(cache.get(2L)).isEmpty();
+        assertThat(cache.get(3L)).isPresent();
+        assertThat(cache.getSizeEvictions()).isOne();
+        assertThat(cache.getWeight()).isLessThanOrEqualTo(properties.getCache().getMaxSize().toBytes());
+        assertThat(cache.moviesOf(deNiro.getId())).isEmpty();
+    }
+
+    @Test
+    void onActorChanged_EvictsEveryMovieOfActor() {
+        cache.put(movie(1L, phoenix, deNiro), cache.generation());
+        cache.put(movie(2L, deNiro), cache.generation());
+        cache.put(movie(3L, benigini), cache.generation());
+
+        cache.onActorChanged(new ActorChangedEvent(deNiro.getId()));
+
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.get(2L)).isEmpty();
+        assertThat(cache.get(3L)).isPresent();
+        assertThat(cache.moviesOf(phoenix.getId())).isEmpty();
+        assertThat(cache.getActorEvictions()).isEqualTo(2);
+        assertThat(cache.getWeight()).isEqualTo(MovieCache.weigh(movie(3L, benigini)));
+    }
+
+    @Test
+    void putWhenCommitted_PublishesOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.putWhenCommitted(movie(1L, phoenix), cache.generation());
+
+        assertThat(cache.get(1L)).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.get(1L)).isPresent();
+    }
+
+    @Test
+    void putWhenCommitted_DiscardsOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.putWhenCommitted(movie(1L, phoenix), cache.generation());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                                         .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void bindTo() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.put(movie(1L, phoenix), cache.generation());
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(registry.get("repository.cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("repository.cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("repository.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(registry.get("repository.cache.size").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("repository.cache.weight").gauge().value()).isEqualTo(MovieCache.weigh(movie(1L, phoenix)));
+    }
+
+
+    private static Movie movie(final Long id, final Actor... cast) {
+        final Map<String, Actor> actors = new HashMap<>();
+        for (int i = 0; i < cast.length; i++) {
+            actors.put("role " + (i + 1), cast[i].withId(cast[i].getId()));
+        }
+        return new Movie(id, "Movie " + id, Duration.ofMinutes(120), LocalDate.of(2000, 1, 1), actors, List.of(new Genre(2, "drama")));
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.SpringDataJdbcDemoApplicationTestsConfiguration;
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.generator.CatalogGenerator;
+import com.cafetamine.spring.data.jdbc.demo.generator.JdbcCatalogSink;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJdbcTest
+@Import({SpringDataJdbcDemoApplicationTestsConfiguration.class, RepositoryProperties.class, MovieJoinFetchLoader.class})
+class MovieJoinFetchLoaderTest {
+
+    private static final Genre crimeDomain = new Genre(1, "crime");
+    private static final Genre dramaDomain = new Genre(2, "drama");
+    private static final Genre thrillerDomain = new Genre(3, "thriller");
+    private static final Genre comedyDomain = new Genre(4, "comedy");
+
+    private static final Actor phoenixDomain = new Actor(1L, "Joaquin", "Phoenix", LocalDate.of(1974, 10, 28), null, Gender.Male);
+    private static final Actor deNiroDomain = new Actor(2L, "Robert", "De Niro", LocalDate.of(1943, 8, 17), null, Gender.Male);
+    private static final Actor beniginiDomain = new Actor(3L, "Roberto", "Benigini", LocalDate.of(1952, 10, 27), null, Gender.Male);
+    private static final Actor bonacelliDomain = new Actor(4L, "Paolo", "Bonacelli", LocalDate.of(1937, 2, 28), null, Gender.Male);
+
+    private static final Movie jockerDomain = new Movie(
+            1L,
+            "Jocker",
+            Duration.ofSeconds(122L),
+            LocalDate.of(2019, 4, 19),
+            Map.of("Arthur Fleck", phoenixDomain, "Murray Franklin", deNiroDomain),
+            Arrays.asList(crimeDomain, dramaDomain, thrillerDomain)
+    );
+    private static final Movie nightDomain = new Movie(
+            2L,
+            "Night on Earth",
+            Duration.ofSeconds(129L),
+            LocalDate.of(1991, 12, 12),
+            Map.of("Driver (segment \"Rome\")", beniginiDomain, "Priest (segment \"Rome\")", bonacelliDomain),
+            Arrays.asList(comedyDomain, dramaDomain)
+    );
+
+
+    @Autowired MovieJoinFetchLoader loader;
+    @Autowired RepositoryProperties properties;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void findAll() {
+        assertThat(loader.findAll()).containsExactly(jockerDomain, nightDomain);
+    }
+
+    @Test
+    void findAll_SharesActorsAndGenres() {
+        final JdbcCatalogSink sink = new JdbcCatalogSink(jdbcTemplate, properties.getBatch().getSize());
+        sink.clear();
+        new CatalogGenerator(2_000).generate(sink);
+
+        final List<Movie> movies = loader.findAll();
+        final List<Actor> credits = movies.stream().flatMap(movie -> movie.getActors().values().stream()).collect(Collectors.toList());
+        final List<Genre> genres = movies.stream().flatMap(movie -> movie.getGenres().stream()).collect(Collectors.toList());
+
+        assertThat(instances(credits)).hasSize((int) credits.stream().map(Actor::getId).distinct().count())
+                                      .hasSizeLessThan(credits.size());
+        assertThat(instances(genres)).hasSize((int) genres.stream().map(Genre::getId).distinct().count());
+    }
+
+    @ParameterizedTest @ValueSource(ints = {1, 2, 500})
+    void streamAll(final int hydrationBatchSize) {
+        properties.getCursor().setHydrationBatchSize(hydrationBatchSize);
+
+        try (final Stream<Movie> movies = loader.streamAll()) {
+            assertThat(movies).containsExactly(jockerDomain, nightDomain);
+        }
+    }
+
+    @ParameterizedTest @MethodSource("dataSetFindById")
+    void findById(final Long id, final Movie expected) {
+        assertThat(loader.findById(id)).hasValue(expected);
+    }
+
+    @Test
+    void findById_NonExisting() {
+        assertThat(loader.findById(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @ParameterizedTest @MethodSource("dataSetFindAllById")
+    void findAllById(final List<Long> ids, final Iterable<Movie> expected) {
+        assertThat(loader.findAllById(ids)).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest @MethodSource("dataSetFindAllByGenreId")
+    void findAllByGenreId(final Integer genreId, final Iterable<Movie> expected) {
+        assertThat(loader.findAllByGenreId(genreId)).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest @MethodSource("dataSetFindAllByActorId")
+    void findAllByActorId(final Long actorId, final Iterable<Movie> expected) {
+        assertThat(loader.findAllByActorId(actorId)).containsExactlyElementsOf(expected);
+    }
+
+
+    private static <T> Set<T> instances(final List<T> objects) {
+        final Set<T> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        instances.addAll(objects);
+        return instances;
+    }
+
+    static Stream<Arguments> dataSetFindById() {
+        return Stream.of(
+                Arguments.of(1L, jockerDomain),
+                Arguments.of(2L, nightDomain)
+        );
+    }
+
+    static Stream<Arguments> dataSetFindAllById() {
+        return Stream.of(
+                Arguments.of(Collections.emptyList(), Collections.emptyList()),
+                Arguments.of(Collections.singletonList(Long.MAX_VALUE), Collections.emptyList()),
+                Arguments.of(Arrays.asList(1L, 2L), Arrays.asList(jockerDomain, nightDomain)),
+                Arguments.of(Arrays.asList(2L, Long.MAX_VALUE, 1L), Arrays.asList(nightDomain, jockerDomain))
+        );
+    }
+
+    static Stream<Arguments> dataSetFindAllByGenreId() {
+        return Stream.of(
+                Arguments.of(Integer.MAX_VALUE, Collections.emptyList()),
+                Arguments.of(comedyDomain.getId(), Collections.singletonList(nightDomain)),
+                Arguments.of(dramaDomain.getId(), Arrays.asList(jockerDomain, nightDomain))
+        );
+    }
+
+    static Stream<Arguments> dataSetFindAllByActorId() {
+        return Stream.of(
+                Arguments.of(Long.MAX_VALUE, Collections.emptyList()),
+                Arguments.of(phoenixDomain.getId(), Collections.singletonList(jockerDomain)),
+                Arguments.of(beniginiDomain.getId(), Collections.singletonList(nightDomain))
+        );
+    }
+
+}
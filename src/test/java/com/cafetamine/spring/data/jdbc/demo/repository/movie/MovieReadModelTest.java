@@ -0,0 +1,126 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.FetchMode;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.Statements;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.UnitOfWork;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
+
+
+@SpringBootTest
+@Transactional
+class MovieReadModelTest {
+
+    @Autowired IMovieRepository movieRepository;
+    @Autowired IActorRepository actorRepository;
+    @Autowired MovieReadModel readModel;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void findAll_BackfilledOnStartup() {
+        assertThat(movieRepository.findAll(FetchMode.READ_MODEL)).isEqualTo(movieRepository.findAll());
+    }
+
+    @Test
+    void findById_SinglePrimaryKeyLookup() {
+        final UnitOfWork unit = Statements.record(() -> assertThat(movieRepository.findById(2L, FetchMode.READ_MODEL))
+                .isEqualTo(movieRepository.findById(2L)));
+
+        assertThat(unit.getShapes()).containsKey("SELECT MovieId, Title, Duration, ReleaseDate, Genres, Actors FROM MOVIE_READ_MODEL WHERE MovieId = ?");
+        assertThat(movieRepository.findById(Long.MAX_VALUE, FetchMode.READ_MODEL)).isEmpty();
+    }
+
+    @Test
+    void create_WritesReadModelRow() {
+        final Movie created = movieRepository.create(new Movie(
+                null,
+                "Joy",
+                Duration.ofSeconds(124L),
+                LocalDate.of(2015, 12, 13),
+                Map.of(
+                        "Joy", new Actor(null, "Jennifer", "Lawrence", LocalDate.of(1990, 7, 15), null, Gender.Female),
+                        "Rudy", new Actor(null, "Robert", "De Niro", LocalDate.of(1943, 8, 17), null, Gender.Male),
+                        "Peggy \"Mangano\"", new Actor(null, "Elisabeth", "Röhm", LocalDate.of(1973, 4, 28), null, Gender.Female)
+                ),
+                Arrays.asList(new Genre(null, "drama"), new Genre(null, "biography"))
+        ));
+
+        assertThat(movieRepository.findById(created.getId(), FetchMode.READ_MODEL)).hasValue(created);
+    }
+
+    @Test
+    void updateDeathdate_RefreshesMoviesOfActor() {
+        actorRepository.updateDeathdate(1L, LocalDate.of(2100, 1, 1));
+
+        assertThat(movieRepository.findById(1L, FetchMode.READ_MODEL).orElseThrow().getActors().get("Arthur Fleck").getDeathdate())
+                .isEqualTo(LocalDate.of(2100, 1, 1));
+        assertThat(movieRepository.findById(2L, FetchMode.READ_MODEL)).isEqualTo(movieRepository.findById(2L));
+    }
+
+    @Test
+    void createAll_RefreshesMoviesOfUpdatedActor() {
+        final Actor phoenix = movieRepository.findById(1L).orElseThrow().getActors().get("Arthur Fleck");
+
+        actorRepository.createAll(Arrays.asList(phoenix.withDeathdate(LocalDate.of(2100, 1, 1))));
+
+        assertThat(movieRepository.findById(1L, FetchMode.READ_MODEL).orElseThrow().getActors().get("Arthur Fleck").getDeathdate())
+                .isEqualTo(LocalDate.of(2100, 1, 1));
+        assertThat(movieRepository.findAll(FetchMode.READ_MODEL)).isEqualTo(movieRepository.findAll());
+    }
+
+    @Test
+    void findById_FallsBackToMoviesForMissingRow() {
+        jdbcTemplate.update("DELETE FROM MOVIE_READ_MODEL WHERE MovieId = 2");
+
+        assertThat(movieRepository.findById(2L, FetchMode.READ_MODEL)).isEqualTo(movieRepository.findById(2L));
+        assertThat(movieRepository.findAll(FetchMode.READ_MODEL)).isEqualTo(movieRepository.findAll());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findById_RewritesMissingRowAfterCommit() {
+        jdbcTemplate.update("DELETE FROM MOVIE_READ_MODEL WHERE MovieId = 2");
+
+        assertThat(movieRepository.findById(2L, FetchMode.READ_MODEL)).isEqualTo(movieRepository.findById(2L));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MOVIE_READ_MODEL WHERE MovieId = 2", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void backfill_OnlyMissingRows() {
+        jdbcTemplate.update("DELETE FROM MOVIE_READ_MODEL WHERE MovieId = 2");
+
+        assertThat(readModel.backfill()).isEqualTo(1);
+        assertThat(readModel.backfill()).isZero();
+        assertThat(movieRepository.findById(2L, FetchMode.READ_MODEL)).isEqualTo(movieRepository.findById(2L));
+    }
+
+    @Test
+    void findById_ThrowsForMalformedRow() {
+        jdbcTemplate.update("UPDATE MOVIE_READ_MODEL SET Actors = '[[' WHERE MovieId = 2");
+
+        assertThat(catchThrowableOfType(() -> movieRepository.findById(2L, FetchMode.READ_MODEL), DataIntegrityException.class)).isNotNull();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.Statements;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@SpringBootTest
+class MovieRepositoryCacheTest {
+
+    private static final Long phoenixId = 1L;
+
+
+    @Autowired IMovieRepository movieRepository;
+    @Autowired IActorRepository actorRepository;
+    @Autowired MovieCache movieCache;
+    @Autowired PlatformTransactionManager transactionManager;
+
+
+    @Test
+    void findById_ServedFromCacheOnceLoaded() {
+        movieRepository.findById(2L);
+
+        assertThat(Statements.record(() -> movieRepository.findById(2L)).getStatements()).isZero();
+    }
+
+    @Test
+    void updateDeathdate_EvictsMoviesOfActor() {
+        movieRepository.findById(1L);
+        assertThat(movieCache.moviesOf(phoenixId)).containsExactly(1L);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            actorRepository.updateDeathdate(phoenixId, LocalDate.of(2100, 1, 1));
+
+            assertThat(movieCache.moviesOf(phoenixId)).isEmpty();
+            assertThat(movieRepository.findById(1L).orElseThrow().getActors().get("Arthur Fleck").getDeathdate())
+                    .isEqualTo(LocalDate.of(2100, 1, 1));
+            status.setRollbackOnly();
+        });
+
+        assertThat(movieCache.moviesOf(phoenixId)).isEmpty();
+        assertThat(movieRepository.findById(1L).orElseThrow().getActors().get("Arthur Fleck").getDeathdate()).isNull();
+    }
+
+    @Test
+    void create_WithChangedExistingActor_EvictsMoviesOfActor() {
+        final Movie joker = movieRepository.findById(1L).orElseThrow();
+        assertThat(movieCache.moviesOf(phoenixId)).containsExactly(1L);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            movieRepository.create(new Movie(
+                    null,
+                    "Her",
+                    Duration.ofMinutes(126),
+                    LocalDate.of(2013, 12, 18),
+                    Map.of("Theodore", joker.getActors().get("Arthur Fleck").withDeathdate(LocalDate.of(2100, 1, 1))),
+                    joker.getGenres()
+            ));
+
+            assertThat(movieRepository.findById(1L).orElseThrow().getActors().get("Arthur Fleck").getDeathdate())
+                    .isEqualTo(LocalDate.of(2100, 1, 1));
+            status.setRollbackOnly();
+        });
+
+        assertThat(movieCache.moviesOf(phoenixId)).isEmpty();
+        assertThat(movieRepository.findById(1L).orElseThrow().getActors().get("Arthur Fleck").getDeathdate()).isNull();
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.FetchMode;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.Statements;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.UnitOfWork;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@SpringBootTest
+@Transactional
+class MovieRepositoryStatementsTest {
+
+    @Autowired IMovieRepository movieRepository;
+
+
+    @Test
+    void findAll_IsConstantInMovies() {
+        Statements.assertAtMost(3, movieRepository::findAll);
+
+        createMovies(10);
+
+        Statements.assertAtMost(3, movieRepository::findAll);
+    }
+
+    @Test
+    void findAll_ActorAndGenreLookupsDoNotGrowWithMovies() {
+        final Runnable findAll = movieRepository::findAll;
+        final long before = lookups(Statements.record(findAll).getShapes());
+
+        createMovies(10);
+
+        assertThat(lookups(Statements.record(findAll).getShapes())).isLessThanOrEqualTo(before);
+    }
+
+    @Test
+    void findById() {
+        Statements.assertAtMost(3, () -> movieRepository.findById(1L));
+    }
+
+    @Test
+    void findAllByGenreAndActor_AreConstantInMovies() {
+        createMovies(10);
+        final Actor phoenix = movieRepository.findById(1L).orElseThrow().getActors().get("Arthur Fleck");
+
+        Statements.assertAtMost(3, () -> movieRepository.findAllByGenre(new Genre(2, "drama")));
+        Statements.assertAtMost(3, () -> movieRepository.findAllByActor(phoenix));
+    }
+
+    @Test
+    void findPageAfter_IsConstantInPageSize() {
+        createMovies(10);
+
+        Statements.assertAtMost(4, () -> movieRepository.findPageAfter(null, 10));
+    }
+
+    @Test
+    void findPageAfter_LoadsCastAndGenresInSeparateStatements() {
+        final UnitOfWork page = Statements.record(() -> movieRepository.findPageAfter(null, 10));
+
+        assertThat(page.getShapes().keySet()).filteredOn(shape -> shape.contains("FROM MOVIE_ACTORS")).hasSize(1)
+                                             .noneMatch(shape -> shape.contains("MOVIE_GENRES"));
+        assertThat(page.getShapes().keySet()).filteredOn(shape -> shape.contains("FROM MOVIE_GENRES")).hasSize(1)
+                                             .noneMatch(shape -> shape.contains("ACTORS"));
+    }
+
+
+    @Test
+    void summaries_SelectOnlyMovies() {
+        createMovies(10);
+
+        final UnitOfWork all = Statements.record(movieRepository::findAllSummaries);
+        final UnitOfWork byGenre = Statements.record(() -> movieRepository.findSummariesByGenre(new Genre(2, "drama")));
+        final UnitOfWork page = Statements.record(() -> movieRepository.findSummaryPageAfter(null, 5));
+
+        Stream.of(all, byGenre, page).forEach(unit -> {
+            assertThat(unit.getStatements()).isEqualTo(1);
+            assertThat(unit.getShapes().keySet()).noneMatch(shape -> shape.contains("ACTORS") || shape.contains("JOIN") || shape.contains("FROM GENRES"));
+        });
+    }
+
+
+    @Test
+    void findAll_Lazy_SkipsLookupsUntilAccessed() {
+        final List<Movie> movies = new ArrayList<>();
+
+        assertThat(lookups(Statements.record(() -> movies.addAll(movieRepository.findAll(FetchMode.LAZY))).getShapes())).isZero();
+        assertThat(actorLookups(Statements.record(() -> movies.forEach(Movie::hashCode)).getShapes())).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findAll_Lazy_ResolvesInNewTransactionAfterLoadingOneEnded() {
+        final List<Movie> movies = movieRepository.findAll(FetchMode.LAZY);
+
+        final UnitOfWork access = Statements.record(() -> movies.get(0).getActors().hashCode());
+
+        assertThat(actorLookups(access.getShapes())).isEqualTo(1);
+        assertThat(movies).isEqualTo(movieRepository.findAll());
+    }
+
+    private void createMovies(final int count) {
+        final Movie original = movieRepository.findById(1L).orElseThrow();
+        IntStream.rangeClosed(1, count).forEach(i -> movieRepository.create(new Movie(
+                null,
+                original.getTitle() + " " + (i + 1),
+                original.getDuration(),
+                original.getReleaseDate().plusYears(i),
+                original.getActors(),
+                original.getGenres()
+        )));
+    }
+
+    private static long actorLookups(final Map<String, Integer> shapes) {
+        return shapes.entrySet()
+                     .stream()
+                     .filter(shape -> shape.getKey().contains("FROM ACTORS"))
+                     .mapToLong(Map.Entry::getValue)
+                     .sum();
+    }
+
+    private static long lookups(final Map<String, Integer> shapes) {
+        return shapes.entrySet()
+                     .stream()
+                     .filter(shape -> shape.getKey().contains("FROM ACTORS") || shape.getKey().contains("FROM GENRES"))
+                     .mapToLong(Map.Entry::getValue)
+                     .sum();
+    }
+
+}
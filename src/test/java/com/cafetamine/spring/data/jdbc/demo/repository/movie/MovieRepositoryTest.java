@@ -1,30 +1,46 @@
 package com.cafetamine.spring.data.jdbc.demo.repository.movie;
 
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
 import com.cafetamine.spring.data.jdbc.demo.core.application.actor.IActorRepository;
 import com.cafetamine.spring.data.jdbc.demo.core.application.genre.IGenreRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.FetchMode;
 import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.exception.DataIntegrityException;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
 import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.MovieSummary;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.page.KeysetPage;
 import com.cafetamine.spring.data.jdbc.demo.repository.actor.ActorRepository;
+import com.cafetamine.spring.data.jdbc.demo.repository.common.ContinuationTokens;
 import com.cafetamine.spring.data.jdbc.demo.repository.genre.GenreRepository;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -34,7 +50,20 @@ class MovieRepositoryTest {
     private static final JdbcMovieRepository jdbcMovieRepository = mock(JdbcMovieRepository.class);
     private static final IActorRepository actorRepository = mock(ActorRepository.class);
     private static final IGenreRepository genreRepository = mock(GenreRepository.class);
-    private static final IMovieRepository movieRepository = new MovieRepository(jdbcMovieRepository, actorRepository, genreRepository);
+    private static final MovieJoinFetchLoader movieLoader = mock(MovieJoinFetchLoader.class);
+    private static final MovieReadModel readModel = mock(MovieReadModel.class);
+    private static final MovieSearchRepository searchRepository = mock(MovieSearchRepository.class);
+    private static final IMovieRepository movieRepository = new MovieRepository(
+            jdbcMovieRepository,
+            actorRepository,
+            genreRepository,
+            movieLoader,
+            disabledCache(),
+            readModel,
+            searchRepository,
+            mock(PlatformTransactionManager.class),
+            new RepositoryProperties()
+    );
 
     private static final MovieGenreReference crimeRef = new MovieGenreReference(1);
     private static final MovieGenreReference dramaRef = new MovieGenreReference(2);
@@ -77,6 +106,13 @@ class MovieRepositoryTest {
     private static final Actor knightleyDomain = new Actor(5L, "Keira", "Knightley", LocalDate.of(1985, 4, 26), null, Gender.Female);
     private static final Actor lawrenceDomain = new Actor(6L, "Jennifer", "Lawrence",  LocalDate.of(1990, 7, 15), null, Gender.Female);
 
+    private static final Map<Long, Actor> actorsById = Stream.of(
+            phoenixDomain, deNiroDomain, beniginiDomain, bonacelliDomain, knightleyDomain, lawrenceDomain
+    ).collect(Collectors.toMap(Actor::getId, Function.identity()));
+    private static final Map<Integer, Genre> genresById = Stream.of(
+            crimeDomain, dramaDomain, thrillerDomain, comedyDomain, westernDomain
+    ).collect(Collectors.toMap(Genre::getId, Function.identity()));
+
     private static final Movie jockerDomain = new Movie(
             1L,
             "Jocker",
@@ -95,17 +131,109 @@ class MovieRepositoryTest {
     );
 
 
+    @BeforeEach
+    void beforeEach() {
+        reset(jdbcMovieRepository, actorRepository, genreRepository, movieLoader, readModel, searchRepository);
+
+        when(actorRepository.findAllById(anySet())).thenAnswer(invocation -> select(invocation.getArgument(0), actorsById));
+        when(genreRepository.findAllById(anySet())).thenAnswer(invocation -> select(invocation.getArgument(0), genresById));
+    }
+
+
     @Test
     void findAll() {
-        when(jdbcMovieRepository.findAll()).thenReturn(Arrays.asList(jockerAggregate, nightAggreagate));
+        when(movieLoader.findAll()).thenReturn(Arrays.asList(jockerDomain, nightDomain));
+
+        assertThat(movieRepository.findAll()).containsAll(Arrays.asList(jockerDomain, nightDomain));
+    }
 
-        when(actorRepository.findAllByReference(jockerAggregate.getActors())).thenReturn(jockerDomain.getActors());
-        when(genreRepository.findAllByReference(jockerAggregate.getGenres())).thenReturn(jockerDomain.getGenres());
+    @Test
+    void findAll_LoadsThroughJoinFetchLoader() {
+        when(movieLoader.findAll()).thenReturn(Arrays.asList(jockerDomain, nightDomain));
 
-        when(actorRepository.findAllByReference(nightAggreagate.getActors())).thenReturn(nightDomain.getActors());
-        when(genreRepository.findAllByReference(nightAggreagate.getGenres())).thenReturn(nightDomain.getGenres());
+        movieRepository.findAll();
 
-        assertThat(movieRepository.findAll()).containsAll(Arrays.asList(jockerDomain, nightDomain));
+        verify(jdbcMovieRepository, times(0)).findAll();
+        verify(actorRepository, times(0)).findAllById(anySet());
+        verify(genreRepository, times(0)).findAllById(anySet());
+    }
+
+    @Test
+    void streamAll() {
+        when(movieLoader.streamAll()).thenReturn(Stream.of(jockerDomain, nightDomain));
+
+        try (final Stream<Movie> movies = movieRepository.streamAll()) {
+            assertThat(movies).containsExactly(jockerDomain, nightDomain);
+        }
+    }
+
+    @Test
+    void findPageAfter() {
+        when(jdbcMovieRepository.findIdsAfter(0L, 2)).thenReturn(Arrays.asList(1L, 2L));
+        when(jdbcMovieRepository.findIdsAfter(1L, 2)).thenReturn(Collections.singletonList(2L));
+        when(movieLoader.findAllById(Collections.singletonList(1L))).thenReturn(Collections.singletonList(jockerDomain));
+        when(movieLoader.findAllById(Collections.singletonList(2L))).thenReturn(Collections.singletonList(nightDomain));
+
+        final KeysetPage<Movie> first = movieRepository.findPageAfter(null, 1);
+        assertThat(first.getItems()).containsExactly(jockerDomain);
+        assertThat(first.hasNext()).isTrue();
+
+        final KeysetPage<Movie> second = movieRepository.findPageAfter(first.getContinuation(), 1);
+        assertThat(second.getItems()).containsExactly(nightDomain);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void findSummaryPageAfter() {
+        final MovieSummary jockerSummary = new MovieSummary(1L, "Jocker", Duration.ofSeconds(122L), LocalDate.of(2019, 4, 19));
+        final MovieSummary nightSummary = new MovieSummary(2L, "Night on Earth", Duration.ofSeconds(129L), LocalDate.of(1991, 12, 12));
+        when(jdbcMovieRepository.findSummariesAfter(0L, 2)).thenReturn(Arrays.asList(jockerSummary, nightSummary));
+        when(jdbcMovieRepository.findSummariesAfter(1L, 2)).thenReturn(Collections.singletonList(nightSummary));
+
+        final KeysetPage<MovieSummary> first = movieRepository.findSummaryPageAfter(null, 1);
+        assertThat(first.getItems()).containsExactly(jockerSummary);
+        assertThat(first.hasNext()).isTrue();
+
+        final KeysetPage<MovieSummary> second = movieRepository.findSummaryPageAfter(first.getContinuation(), 1);
+        assertThat(second.getItems()).containsExactly(nightSummary);
+        assertThat(second.hasNext()).isFalse();
+        verify(actorRepository, times(0)).findAllById(anySet());
+        verify(movieLoader, times(0)).findAllById(anyList());
+    }
+
+    @Test
+    void findPageByReleaseDateAfter() {
+        when(jdbcMovieRepository.findIdsByReleaseDate(2)).thenReturn(Arrays.asList(2L, 1L));
+        when(jdbcMovieRepository.findIdsByReleaseDateAfter(LocalDate.of(1991, 12, 12), 2L, 2)).thenReturn(Collections.singletonList(1L));
+        when(movieLoader.findAllById(Collections.singletonList(1L))).thenReturn(Collections.singletonList(jockerDomain));
+        when(movieLoader.findAllById(Collections.singletonList(2L))).thenReturn(Collections.singletonList(nightDomain));
+
+        final KeysetPage<Movie> first = movieRepository.findPageByReleaseDateAfter(null, 1);
+        assertThat(first.getItems()).containsExactly(nightDomain);
+        assertThat(first.hasNext()).isTrue();
+
+        final KeysetPage<Movie> second = movieRepository.findPageByReleaseDateAfter(first.getContinuation(), 1);
+        assertThat(second.getItems()).containsExactly(jockerDomain);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void findPageAfter_ThrowsForMalformedContinuation() {
+        assertThat(catchThrowableOfType(() ->
+                movieRepository.findPageByReleaseDateAfter("not-a-token", 1),
+                IllegalArgumentException.class
+        )).isNotNull();
+    }
+
+    @Test
+    void findPageByReleaseDateAfter_PropagatesQueryFailure() {
+        final String continuation = ContinuationTokens.encode(LocalDate.of(1991, 12, 12), 2L);
+        when(jdbcMovieRepository.findIdsByReleaseDateAfter(LocalDate.of(1991, 12, 12), 2L, 2)).thenThrow(new IllegalStateException("timeout"));
+
+        assertThat(catchThrowableOfType(() ->
+                movieRepository.findPageByReleaseDateAfter(continuation, 1),
+                IllegalStateException.class
+        )).hasMessage("timeout");
     }
 
     @Test
@@ -131,47 +259,97 @@ class MovieRepositoryTest {
         when(genreRepository.createAll(Collections.singletonList(dramaDomain))).thenReturn(Collections.singletonList(dramaDomain));
         when(actorRepository.createAll(new ArrayList<>(movieDomain.getActors().values()))).thenReturn(new ArrayList<>(movieDomain.getActors().values()));
 
-        when(actorRepository.findAllByReference(movieAggregate.getActors())).thenReturn(movieDomain.getActors());
-        when(genreRepository.findAllByReference(movieAggregate.getGenres())).thenReturn(movieDomain.getGenres());
-
         assertThat(movieRepository.create(movieDomain)).isEqualTo(movieDomain);
     }
 
+    @Test
+    void create_ThrowsDataIntegrityException() {
+        final Movie movieDomain = new Movie(
+                null,
+                "Joy",
+                Duration.ofSeconds(124L),
+                LocalDate.of(2015,12, 13),
+                Map.of("Joy", lawrenceDomain),
+                Collections.singletonList(dramaDomain)
+        );
+        when(jdbcMovieRepository.save(any(MovieAggregate.class))).thenReturn(new MovieAggregate(
+                3L,
+                "Joy",
+                124L,
+                LocalDate.of(2015,12, 13),
+                Map.of("Joy", new MovieActorReference(Long.MAX_VALUE)),
+                Collections.singletonList(dramaRef)
+        ));
+        when(genreRepository.createAll(Collections.singletonList(dramaDomain))).thenReturn(Collections.singletonList(dramaDomain));
+        when(actorRepository.createAll(Collections.singletonList(lawrenceDomain))).thenReturn(Collections.singletonList(lawrenceDomain));
+
+        assertThat(catchThrowableOfType(() -> movieRepository.create(movieDomain), DataIntegrityException.class)).isNotNull();
+    }
+
     @ParameterizedTest @MethodSource("dataSetFindById")
     void findById(final Long id, final MovieAggregate aggregate, final Movie domain) {
-        when(jdbcMovieRepository.findById(id)).thenReturn(Optional.of(aggregate));
-
-        when(actorRepository.findAllByReference(aggregate.getActors())).thenReturn(domain.getActors());
-        when(genreRepository.findAllByReference(aggregate.getGenres())).thenReturn(domain.getGenres());
+        when(movieLoader.findById(id)).thenReturn(Optional.of(domain));
 
         assertThat(movieRepository.findById(id)).hasValue(domain);
+        verify(jdbcMovieRepository, times(0)).findById(id);
     }
 
     @Test
     void findById_NonExisting() {
-        when(jdbcMovieRepository.findById(Long.MAX_VALUE)).thenReturn(Optional.empty());
+        when(movieLoader.findById(Long.MAX_VALUE)).thenReturn(Optional.empty());
 
         assertThat(movieRepository.findById(Long.MAX_VALUE)).isEmpty();
     }
 
+    @Test
+    void findAll_Lazy_ResolvesEachCollectionOnceOnFirstAccess() {
+        when(jdbcMovieRepository.findAll()).thenReturn(Arrays.asList(jockerAggregate, nightAggreagate));
+
+        final List<Movie> movies = movieRepository.findAll(FetchMode.LAZY);
+        assertThat(movies.get(0).getActors()).hasSize(2).containsKey("Arthur Fleck");
+        assertThat(movies.get(1).getGenres()).hasSize(2);
+        verify(actorRepository, times(0)).findAllById(anySet());
+        verify(genreRepository, times(0)).findAllById(anySet());
+
+        assertThat(movies.get(0).getActors()).isEqualTo(jockerDomain.getActors());
+        assertThat(movies.get(1).getActors()).isEqualTo(nightDomain.getActors());
+        verify(actorRepository, times(1)).findAllById(Set.of(1L, 2L, 3L, 4L));
+        verify(genreRepository, times(0)).findAllById(anySet());
+
+        assertThat(movies).containsExactly(jockerDomain, nightDomain);
+        verify(genreRepository, times(1)).findAllById(Set.of(1, 2, 3, 4));
+    }
+
+    @Test
+    void findAll_Lazy_ThrowsOnAccessForMissingReference() {
+        when(jdbcMovieRepository.findAll()).thenReturn(Collections.singletonList(jockerAggregate));
+        when(actorRepository.findAllById(anySet())).thenReturn(Collections.emptyMap());
+
+        final Movie movie = movieRepository.findAll(FetchMode.LAZY).get(0);
+
+        assertThat(movie.getGenres()).isEqualTo(jockerDomain.getGenres());
+        assertThat(catchThrowableOfType(() -> movie.getActors().get("Arthur Fleck"), DataIntegrityException.class)).isNotNull();
+    }
+
+    @ParameterizedTest @MethodSource("dataSetFindById")
+    void findById_Lazy(final Long id, final MovieAggregate aggregate, final Movie domain) {
+        when(jdbcMovieRepository.findById(id)).thenReturn(Optional.of(aggregate));
+
+        final Optional<Movie> movie = movieRepository.findById(id, FetchMode.LAZY);
+        verify(actorRepository, times(0)).findAllById(anySet());
+        assertThat(movie).hasValue(domain);
+    }
+
     @ParameterizedTest @MethodSource("dataSetFindAllByGenre")
-    void findAllByGenre(final Genre genre, final List<MovieAggregate> aggregate, final List<Movie> domain) {
-        when(jdbcMovieRepository.findAllByGenreId(genre.getId())).thenReturn(new HashSet<>(aggregate));
-        IntStream.range(0, aggregate.size()).forEach(i -> {
-            when(actorRepository.findAllByReference(aggregate.get(i).getActors())).thenReturn(domain.get(i).getActors());
-            when(genreRepository.findAllByReference(aggregate.get(i).getGenres())).thenReturn(domain.get(i).getGenres());
-        });
+    void findAllByGenre(final Genre genre, final List<Movie> domain) {
+        when(movieLoader.findAllByGenreId(genre.getId())).thenReturn(domain);
 
         assertThat(movieRepository.findAllByGenre(genre)).containsExactlyInAnyOrderElementsOf(domain);
     }
 
     @ParameterizedTest @MethodSource("dataSetFindAllByActor")
-    void findAllByActor(final Actor actor, final List<MovieAggregate> aggregate, final List<Movie> domain) {
-        when(jdbcMovieRepository.findAllByActorId(actor.getId())).thenReturn(new HashSet<>(aggregate));
-        IntStream.range(0, aggregate.size()).forEach(i -> {
-            when(actorRepository.findAllByReference(aggregate.get(i).getActors())).thenReturn(domain.get(i).getActors());
-            when(genreRepository.findAllByReference(aggregate.get(i).getGenres())).thenReturn(domain.get(i).getGenres());
-        });
+    void findAllByActor(final Actor actor, final List<Movie> domain) {
+        when(movieLoader.findAllByActorId(actor.getId())).thenReturn(domain);
 
         assertThat(movieRepository.findAllByActor(actor)).containsExactlyInAnyOrderElementsOf(domain);
     }
@@ -186,18 +364,31 @@ class MovieRepositoryTest {
 
     static  Stream<Arguments> dataSetFindAllByGenre() {
         return Stream.of(
-                Arguments.of(westernDomain, Collections.emptyList(), Collections.emptyList()),
-                Arguments.of(comedyDomain, Collections.singletonList(nightAggreagate), Collections.singletonList(nightDomain)),
-                Arguments.of(dramaDomain, Arrays.asList(jockerAggregate, nightAggreagate), Arrays.asList(jockerDomain, nightDomain))
+                Arguments.of(westernDomain, Collections.emptyList()),
+                Arguments.of(comedyDomain, Collections.singletonList(nightDomain)),
+                Arguments.of(dramaDomain, Arrays.asList(jockerDomain, nightDomain))
         );
     }
 
     static Stream<Arguments> dataSetFindAllByActor() {
         return Stream.of(
-                Arguments.of(knightleyDomain, Collections.emptyList(), Collections.emptyList()),
-                Arguments.of(phoenixDomain, Collections.singletonList(jockerAggregate), Collections.singletonList(jockerDomain))
+                Arguments.of(knightleyDomain, Collections.emptyList()),
+                Arguments.of(phoenixDomain, Collections.singletonList(jockerDomain))
                 // TODO test for multiple shared actors
         );
     }
 
+
+    private static MovieCache disabledCache() {
+        final RepositoryProperties properties = new RepositoryProperties();
+        properties.getCache().setEnabled(false);
+        return new MovieCache(properties);
+    }
+
+    private static <K, V> Map<K, V> select(final Set<K> ids, final Map<K, V> source) {
+        return ids.stream()
+                  .filter(source::containsKey)
+                  .collect(Collectors.toMap(Function.identity(), source::get));
+    }
+
 }
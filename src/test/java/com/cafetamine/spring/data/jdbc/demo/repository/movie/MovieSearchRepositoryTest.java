@@ -0,0 +1,126 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieSearchRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.actor.Actor;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.def.Gender;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.MovieSearchHit;
+import com.cafetamine.spring.data.jdbc.demo.diagnostics.Statements;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
+
+
+@SpringBootTest
+@Transactional
+class MovieSearchRepositoryTest {
+
+    @Autowired IMovieSearchRepository searchRepository;
+    @Autowired IMovieRepository movieRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+
+    @ParameterizedTest @MethodSource("dataSetSearch")
+    void search(final String query, final List<String> expected) {
+        assertThat(titles(searchRepository.search(query, 10))).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void search_RanksTitleAboveRoleAboveCastAndExactAbovePrefix() {
+        createMovie("Robert", "Guard", new Actor(null, "Keira", "Knightley", LocalDate.of(1985, 4, 26), null, Gender.Female));
+        createMovie("Heist", "Robert", new Actor(null, "Jennifer", "Lawrence", LocalDate.of(1990, 7, 15), null, Gender.Female));
+
+        final List<MovieSearchHit> hits = searchRepository.search("robert", 10);
+
+        assertThat(titles(hits)).containsExactly("Robert", "Heist", "Jocker", "Night on Earth");
+        assertThat(hits).extracting(MovieSearchHit::getScore).containsExactly(
+                2L * MovieSearchRepository.TITLE_WEIGHT,
+                2L * MovieSearchRepository.ROLE_WEIGHT,
+                2L * MovieSearchRepository.CAST_WEIGHT,
+                (long) MovieSearchRepository.CAST_WEIGHT
+        );
+        assertThat(titles(searchRepository.search("robert", 2))).containsExactly("Robert", "Heist");
+    }
+
+    @Test
+    void search_SingleStatementUsingTermIndex() {
+        assertThat(Statements.record(() -> searchRepository.search("night earth rome", 10)).getStatements()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT MovieId FROM MOVIE_SEARCH_TERMS WHERE Term LIKE 'pho%'",
+                String.class
+        )).contains("PRIMARY_KEY");
+    }
+
+    @Test
+    void search_ThrowsForNonPositiveLimit() {
+        assertThat(catchThrowableOfType(() -> searchRepository.search("night", 0), IllegalArgumentException.class))
+                .hasMessage("Limit must be positive.");
+    }
+
+    @Test
+    void rebuild() {
+        jdbcTemplate.update("DELETE FROM MOVIE_SEARCH_TERMS");
+        assertThat(searchRepository.search("jocker", 10)).isEmpty();
+
+        assertThat(searchRepository.rebuild()).isEqualTo(2);
+
+        assertThat(titles(searchRepository.search("jocker", 10))).containsExactly("Jocker");
+    }
+
+    @Test
+    void terms() {
+        assertThat(MovieSearchRepository.terms("Léon: The Professional (1994)")).containsExactly("leon", "the", "professional", "1994");
+        assertThat(MovieSearchRepository.terms("  --  ")).isEmpty();
+        assertThat(MovieSearchRepository.terms((String) null)).isEmpty();
+    }
+
+
+    private void createMovie(final String title, final String role, final Actor actor) {
+        movieRepository.create(new Movie(
+                null,
+                title,
+                Duration.ofSeconds(100L),
+                LocalDate.of(2000, 1, 1),
+                Map.of(role, actor),
+                Collections.singletonList(new Genre(null, "drama"))
+        ));
+    }
+
+    private static List<String> titles(final List<MovieSearchHit> hits) {
+        return hits.stream().map(hit -> hit.getMovie().getTitle()).collect(Collectors.toList());
+    }
+
+    static Stream<Arguments> dataSetSearch() {
+        return Stream.of(
+                Arguments.of("jock", List.of("Jocker")),
+                Arguments.of("JOCKER", List.of("Jocker")),
+                Arguments.of("arthur fl", List.of("Jocker")),
+                Arguments.of("phoenix", List.of("Jocker")),
+                Arguments.of("night rome", List.of("Night on Earth")),
+                Arguments.of("night phoenix", List.of()),
+                Arguments.of("benígini", List.of("Night on Earth")),
+                Arguments.of("  ", List.of()),
+                Arguments.of("%", List.of())
+        );
+    }
+
+}
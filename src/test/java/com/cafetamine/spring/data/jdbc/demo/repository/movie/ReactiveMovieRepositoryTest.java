@@ -0,0 +1,97 @@
+package com.cafetamine.spring.data.jdbc.demo.repository.movie;
+
+import com.cafetamine.spring.data.jdbc.demo.config.RepositoryProperties;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.application.movie.IReactiveMovieRepository;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.genre.Genre;
+import com.cafetamine.spring.data.jdbc.demo.core.domain.movie.Movie;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import reactor.test.StepVerifier;
+
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+
+@SpringBootTest
+class ReactiveMovieRepositoryTest {
+
+    @Autowired IReactiveMovieRepository reactiveMovieRepository;
+    @Autowired IMovieRepository movieRepository;
+    @Autowired MovieJoinFetchLoader movieLoader;
+    @Autowired RepositoryProperties properties;
+
+    private int hydrationBatchSize;
+
+
+    @BeforeEach
+    void saveHydrationBatchSize() {
+        hydrationBatchSize = properties.getCursor().getHydrationBatchSize();
+    }
+
+    @AfterEach
+    void resetHydrationBatchSize() {
+        properties.getCursor().setHydrationBatchSize(hydrationBatchSize);
+    }
+
+    @Test
+    void findAll() {
+        StepVerifier.create(reactiveMovieRepository.findAll())
+                    .expectNextSequence(movieLoader.findAll())
+                    .verifyComplete();
+    }
+
+    @Test
+    void findAllByGenre() {
+        final Movie night = movieRepository.findById(2L).orElseThrow();
+
+        StepVerifier.create(reactiveMovieRepository.findAllByGenre(new Genre(4, "comedy")))
+                    .expectNext(night)
+                    .verifyComplete();
+    }
+
+    @Test
+    void findAllByGenre_NoMovies() {
+        StepVerifier.create(reactiveMovieRepository.findAllByGenre(new Genre(5, "western")))
+                    .verifyComplete();
+    }
+
+    @Test
+    void findAll_EmitsOnDemand() {
+        StepVerifier.create(reactiveMovieRepository.findAll(), 1)
+                    .expectNext(movieRepository.findById(1L).orElseThrow())
+                    .thenRequest(1)
+                    .expectNext(movieRepository.findById(2L).orElseThrow())
+                    .thenCancel()
+                    .verify();
+    }
+
+    @Test
+    @Transactional
+    void findAll_HydratesOnlyWhatIsRequested() {
+        final Movie original = movieRepository.findById(1L).orElseThrow();
+        IntStream.rangeClosed(1, 8).forEach(i -> movieRepository.create(new Movie(
+                null, original.getTitle() + " " + i, original.getDuration(), original.getReleaseDate(), original.getActors(), original.getGenres()
+        )));
+        properties.getCursor().setHydrationBatchSize(1);
+        final MovieJoinFetchLoader loader = spy(movieLoader);
+
+        StepVerifier.create(new ReactiveMovieRepository(loader, Runnable::run).findAll(), 2)
+                    .expectNextCount(2)
+                    .thenCancel()
+                    .verify();
+
+        verify(loader, atMost(3)).findAllById(anyCollection());
+    }
+
+}